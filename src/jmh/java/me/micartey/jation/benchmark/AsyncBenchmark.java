@@ -0,0 +1,70 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.annotations.Async;
+import me.micartey.jation.annotations.Observe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publish to an {@link Async} subscriber and wait for the invocation, covering every execution mode
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsyncBenchmark {
+
+    @Param({"EXECUTOR", "VIRTUAL", "SERIAL"})
+    public Async.Mode mode;
+
+    private JationObserver observer;
+    private BenchmarkEvent event;
+
+    private final AtomicLong received = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        this.observer = new JationObserver();
+        this.event = new BenchmarkEvent(0);
+
+        this.observer.subscribe(switch (this.mode) {
+            case EXECUTOR -> new Object() {
+                @Async
+                @Observe
+                public void onEvent(BenchmarkEvent event) {
+                    received.incrementAndGet();
+                }
+            };
+
+            case VIRTUAL -> new Object() {
+                @Async(Async.Mode.VIRTUAL)
+                @Observe
+                public void onEvent(BenchmarkEvent event) {
+                    received.incrementAndGet();
+                }
+            };
+
+            case SERIAL -> new Object() {
+                @Async(Async.Mode.SERIAL)
+                @Observe
+                public void onEvent(BenchmarkEvent event) {
+                    received.incrementAndGet();
+                }
+            };
+        });
+    }
+
+    @Benchmark
+    public long deliver() {
+        long expected = this.received.get() + 1;
+        this.observer.publish(this.event);
+
+        while (this.received.get() < expected) {
+            Thread.onSpinWait();
+        }
+
+        return expected;
+    }
+}
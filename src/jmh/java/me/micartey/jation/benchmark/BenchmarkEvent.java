@@ -0,0 +1,16 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.annotations.Distribution;
+import me.micartey.jation.interfaces.JationEvent;
+
+import java.io.Serializable;
+
+@Distribution(Distribution.Guarantee.AT_LEAST_ONCE)
+public class BenchmarkEvent implements JationEvent<BenchmarkEvent>, Serializable {
+
+    public final long sequence;
+
+    public BenchmarkEvent(long sequence) {
+        this.sequence = sequence;
+    }
+}
@@ -0,0 +1,58 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.annotations.Null;
+import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.dispatch.Handler;
+import me.micartey.jation.dispatch.HandlerMetadata;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of published arguments onto handler parameters with several additional arguments
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BindingBenchmark {
+
+    private Handler ordered;
+    private Handler shuffled;
+    private BenchmarkEvent event;
+    private Object[] additional;
+    private Object[] parameters;
+
+    @Setup
+    public void setup() throws Exception {
+        Subscriber subscriber = new Subscriber();
+
+        this.ordered = new Handler(subscriber, HandlerMetadata.of(Subscriber.class.getDeclaredMethod("ordered", BenchmarkEvent.class, String.class, Integer.class, Long.class, Double.class)), null, null, null);
+        this.shuffled = new Handler(subscriber, HandlerMetadata.of(Subscriber.class.getDeclaredMethod("shuffled", Long.class, Integer.class, BenchmarkEvent.class, String.class, Double.class)), null, null, null);
+        this.event = new BenchmarkEvent(0);
+        this.additional = new Object[] { "additional", 5, 10L, 2.5 };
+        this.parameters = new Object[5];
+    }
+
+    @Benchmark
+    public Object[] ordered() {
+        this.ordered.bind(this.event, this.additional, this.parameters);
+        return this.parameters;
+    }
+
+    @Benchmark
+    public Object[] shuffled() {
+        this.shuffled.bind(this.event, this.additional, this.parameters);
+        return this.parameters;
+    }
+
+    public static class Subscriber {
+
+        @Observe
+        public void ordered(BenchmarkEvent event, String text, Integer amount, Long id, @Null Double value) {
+        }
+
+        @Observe
+        public void shuffled(Long id, Integer amount, BenchmarkEvent event, String text, @Null Double value) {
+        }
+    }
+}
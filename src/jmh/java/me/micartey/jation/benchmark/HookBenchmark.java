@@ -0,0 +1,50 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.annotations.Observe;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the on, forEach and after hooks on a synchronous publish
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HookBenchmark {
+
+    @Param({"none", "on", "forEach", "after", "all"})
+    public String hooks;
+
+    private JationObserver observer;
+    private BenchmarkEvent event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.observer = new JationObserver();
+        this.event = new BenchmarkEvent(0);
+
+        this.observer.subscribe(new Object() {
+            @Observe
+            public void onEvent(BenchmarkEvent event) {
+                blackhole.consume(event);
+            }
+        });
+
+        if (this.hooks.equals("on") || this.hooks.equals("all"))
+            this.observer.on(BenchmarkEvent.class, event -> event.sequence >= 0);
+
+        if (this.hooks.equals("forEach") || this.hooks.equals("all"))
+            this.observer.forEach(BenchmarkEvent.class, (event, method, instance) -> instance != null);
+
+        if (this.hooks.equals("after") || this.hooks.equals("all"))
+            this.observer.after(BenchmarkEvent.class, blackhole::consume);
+    }
+
+    @Benchmark
+    public void publish() {
+        this.observer.publish(this.event);
+    }
+}
@@ -0,0 +1,52 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.dispatch.Invoker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@link Method#invoke(Object, Object...)} path against the precompiled {@link Invoker}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvokerBenchmark {
+
+    private Subscriber subscriber;
+    private Method method;
+    private Invoker invoker;
+    private Object[] arguments;
+
+    @Setup
+    public void setup() throws Exception {
+        this.subscriber = new Subscriber();
+        this.method = Subscriber.class.getDeclaredMethod("onEvent", String.class, Integer.class);
+        this.invoker = Invoker.of(this.subscriber, this.method);
+        this.arguments = new Object[] { "event", 5 };
+    }
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) throws Exception {
+        this.method.setAccessible(true);
+        this.method.invoke(this.subscriber, this.arguments);
+        blackhole.consume(this.subscriber.received);
+    }
+
+    @Benchmark
+    public void invoker(Blackhole blackhole) throws Throwable {
+        this.invoker.invoke(this.arguments);
+        blackhole.consume(this.subscriber.received);
+    }
+
+    public static class Subscriber {
+
+        private int received;
+
+        void onEvent(String event, Integer amount) {
+            this.received += amount;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.annotations.Observe;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronous publish to a growing amount of subscribers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublishBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int subscribers;
+
+    private JationObserver observer;
+    private BenchmarkEvent event;
+
+    @Setup
+    public void setup() {
+        this.observer = new JationObserver();
+        this.event = new BenchmarkEvent(0);
+
+        for (int index = 0; index < this.subscribers; index++) {
+            this.observer.subscribe(new Subscriber());
+        }
+    }
+
+    @Benchmark
+    public void publish(Blackhole blackhole) {
+        this.observer.publish(this.event);
+        blackhole.consume(this.event);
+    }
+
+    public static class Subscriber {
+
+        private long received;
+
+        @Observe
+        public void onEvent(BenchmarkEvent event) {
+            this.received += event.sequence;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.adapter.network.codec.CodecRegistry;
+import me.micartey.jation.adapter.network.packets.PacketAcknowledge;
+import me.micartey.jation.adapter.network.packets.PacketInvokeMethod;
+import me.micartey.jation.adapter.network.serializer.Serializer;
+import me.micartey.jation.adapter.network.serializer.WireFormat;
+import me.micartey.jation.interfaces.JationEvent;
+import me.micartey.jation.utilities.Base64;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packet serialization of the legacy {@link Serializer} and the binary {@link WireFormat},
+ * payload encoding of {@link Base64} and {@link CodecRegistry} with and without a registered codec
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializerBenchmark {
+
+    private Serializer serializer;
+    private BenchmarkEvent event;
+
+    private PacketInvokeMethod packet;
+    private String serializedPacket;
+    private String serializedEvent;
+
+    private ByteBuffer buffer;
+    private byte[] encodedPacket;
+
+    private CodecRegistry codecs;
+    private CodecRegistry fallback;
+    private CodecEvent codecEvent;
+
+    @Setup
+    public void setup() {
+        this.serializer = new Serializer();
+        this.event = new BenchmarkEvent(42);
+
+        this.serializedEvent = Base64.toBase64(this.event).orElseThrow();
+        this.packet = new PacketInvokeMethod(42, Base64.toBytes(this.event).orElseThrow(), Base64.toBytes(new Object[] { "additional", 5 }).orElseThrow());
+        this.serializedPacket = this.serializer.serialize(this.packet, PacketInvokeMethod.class);
+
+        this.buffer = ByteBuffer.allocate(WireFormat.size(this.packet));
+        this.encodedPacket = WireFormat.encode(this.packet);
+
+        this.codecs = new CodecRegistry().register(CodecEvent.class);
+        this.fallback = new CodecRegistry();
+        this.codecEvent = new CodecEvent(42, "jation");
+    }
+
+    @Benchmark
+    public String serialize() {
+        return this.serializer.serialize(this.packet, PacketInvokeMethod.class);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return this.serializer.deserialize(this.serializedPacket, PacketInvokeMethod.class, PacketAcknowledge.class);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        this.buffer.clear();
+        WireFormat.encode(this.packet, this.buffer);
+        return this.buffer;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return WireFormat.decode(ByteBuffer.wrap(this.encodedPacket));
+    }
+
+    @Benchmark
+    public Object base64RoundTrip() {
+        return Base64.fromBase64(Base64.toBase64(this.event).orElseThrow()).orElseThrow();
+    }
+
+    @Benchmark
+    public Object fromBase64() {
+        return Base64.fromBase64(this.serializedEvent).orElseThrow();
+    }
+
+    @Benchmark
+    public Object codecRoundTrip() {
+        return this.codecs.decode(this.codecs.encode(this.codecEvent));
+    }
+
+    @Benchmark
+    public Object javaRoundTrip() {
+        return this.fallback.decode(this.fallback.encode(this.codecEvent));
+    }
+
+    public record CodecEvent(long sequence, String symbol) implements JationEvent<CodecEvent>, Serializable {
+
+    }
+}
@@ -0,0 +1,53 @@
+package me.micartey.jation.benchmark;
+
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.adapter.network.UdpNetworkAdapter;
+import me.micartey.jation.annotations.Observe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Round trip of a distributed event between two {@link UdpNetworkAdapter} on the loopback interface
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UdpBenchmark {
+
+    private static final int SENDER_PORT = 47_001;
+    private static final int RECEIVER_PORT = 47_002;
+
+    private JationObserver sender;
+    private final AtomicLong received = new AtomicLong();
+
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        this.sender = new JationObserver();
+        this.sender.addAdapter(new UdpNetworkAdapter(SENDER_PORT, RECEIVER_PORT).useLoopbackInterface());
+
+        JationObserver receiver = new JationObserver();
+        receiver.addAdapter(new UdpNetworkAdapter(RECEIVER_PORT, SENDER_PORT).useLoopbackInterface());
+        receiver.subscribe(new Object() {
+            @Observe
+            public void onEvent(BenchmarkEvent event) {
+                received.accumulateAndGet(event.sequence, Math::max);
+            }
+        });
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        long sequence = ++this.sequence;
+        this.sender.publish(new BenchmarkEvent(sequence));
+
+        while (this.received.get() < sequence) {
+            Thread.onSpinWait();
+        }
+
+        return sequence;
+    }
+}
@@ -1,46 +1,129 @@
 package me.micartey.jation;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import me.micartey.jation.adapter.network.UdpNetworkAdapter;
 import me.micartey.jation.annotations.Async;
-import me.micartey.jation.annotations.Null;
 import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.annotations.Route;
+import me.micartey.jation.dispatch.Conflation;
+import me.micartey.jation.dispatch.DispatchTable;
+import me.micartey.jation.dispatch.Handler;
+import me.micartey.jation.dispatch.HandlerMetadata;
+import me.micartey.jation.dispatch.Routing;
+import me.micartey.jation.dispatch.Watchdog;
+import me.micartey.jation.dispatch.WeakSubscription;
+import me.micartey.jation.executor.BoundedQueue;
+import me.micartey.jation.executor.SerialExecutor;
+import me.micartey.jation.interfaces.HandlerListener;
 import me.micartey.jation.interfaces.JationEvent;
+import me.micartey.jation.journal.EventJournal;
+import me.micartey.jation.metrics.Metrics;
 import me.micartey.jation.interfaces.TriConsumer;
+import me.micartey.jation.utilities.VirtualThreads;
 import me.micartey.jation.adapter.network.NetworkAdapter;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class JationObserver {
 
     public static final JationObserver DEFAULT_OBSERVER = new JationObserver();
 
-    private final Map<Class<? extends JationEvent<?>>, List<Function<List<Object>, Boolean>>> forEach;
+    private static final Object[] NO_ADDITIONAL = new Object[0];
+
+    private final Map<Class<? extends JationEvent<?>>, List<TriConsumer<Boolean, JationEvent<?>, Method, Object>>> forEach;
     private final Map<Class<? extends JationEvent<?>>, List<Function<JationEvent<?>, Boolean>>> outset;
+    private final Map<Class<? extends JationEvent<?>>, Map<Object, List<Function<JationEvent<?>, Boolean>>>> keyedOutset;
     private final Map<Class<? extends JationEvent<?>>, List<Function<JationEvent<?>, Boolean>>> closing;
 
     private final Executor executorService;
+    private final Executor virtualExecutor;
 
-    private final Map<Object, List<Method>> instances;
-    private final List<NetworkAdapter> adapters;
+    @Getter private final BoundedQueue queue;
 
-    public JationObserver(@NonNull Executor executorService) {
+    /*
+     * Enforces deadlines and bulkheads, only consulted for guarded handlers
+     */
+    private final Watchdog watchdog = new Watchdog();
+
+    /*
+     * Null disables recording, the publish path then only pays for a single field read
+     */
+    @Getter @Setter private volatile Metrics metrics;
+
+    /*
+     * Runs synchronous handlers of equal priority in parallel if set, null runs them one after another
+     */
+    @Getter @Setter private volatile ForkJoinPool fanOutPool;
+
+    /*
+     * Records every event which has not been cancelled if set
+     */
+    @Getter @Setter private volatile EventJournal journal;
+
+    /*
+     * Strongly subscribed instances per class, compared by identity and mapped to their routing key.
+     * Only accessed under the registry lock
+     */
+    private final Map<Class<?>, Map<Object, Object>> instances;
+
+    /*
+     * Serial lanes of subscriptions by identity, handlers carry their lane so publishers never look it up.
+     * Only accessed under the registry lock
+     */
+    private final Map<Object, Executor> lanes = new IdentityHashMap<>();
+
+    /*
+     * Weakly subscribed instances, collected ones are enqueued and purged lazily
+     */
+    private final Map<WeakSubscription, WeakSubscription> weakInstances;
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /*
+     * Replaced as a whole under the registry lock, publishers iterate the array they read without allocating
+     */
+    private volatile NetworkAdapter[] adapters = new NetworkAdapter[0];
+
+    /*
+     * Writers replace the table under the registry lock, publishers only read the current snapshot
+     */
+    private final Object registryLock = new Object();
+    private volatile DispatchTable dispatchTable = DispatchTable.EMPTY;
+
+    /**
+     * @param executorService executor for asynchronous invocations and adapter listeners
+     * @param queue           bound for pending asynchronous invocations, null for no bound
+     */
+    public JationObserver(@NonNull Executor executorService, BoundedQueue queue) {
         this.executorService = executorService;
+        this.queue = queue;
+        this.virtualExecutor = VirtualThreads.newExecutor().map(Executor.class::cast).orElse(executorService);
 
         this.instances = new HashMap<>();
-        this.adapters = new ArrayList<>();
+        this.weakInstances = new ConcurrentHashMap<>();
+
+        this.outset = new ConcurrentHashMap<>();
+        this.keyedOutset = new ConcurrentHashMap<>();
+        this.forEach = new ConcurrentHashMap<>();
+        this.closing = new ConcurrentHashMap<>();
+    }
 
-        this.outset = new WeakHashMap<>();
-        this.forEach = new WeakHashMap<>();
-        this.closing = new WeakHashMap<>();
+    public JationObserver(@NonNull Executor executorService) {
+        this(executorService, null);
     }
 
     public JationObserver() {
@@ -48,67 +131,573 @@ public class JationObserver {
     }
 
     public void addAdapter(NetworkAdapter adapter) {
-        this.adapters.add(adapter);
+        synchronized (this.registryLock) {
+            NetworkAdapter[] adapters = Arrays.copyOf(this.adapters, this.adapters.length + 1);
+            adapters[adapters.length - 1] = adapter;
+            this.adapters = adapters;
+        }
+
         adapter.setObserver(this);
 
         executorService.execute(adapter::listen);
     }
 
+    /**
+     * Stop distributing published events through the adapter. The adapter keeps receiving until it is closed
+     *
+     * @param adapter adapter added before
+     * @return false if the adapter has not been added to this observer
+     */
+    public boolean removeAdapter(@NonNull NetworkAdapter adapter) {
+        synchronized (this.registryLock) {
+            NetworkAdapter[] adapters = Arrays.stream(this.adapters)
+                    .filter(added -> added != adapter)
+                    .toArray(NetworkAdapter[]::new);
+
+            if (adapters.length == this.adapters.length)
+                return false;
+
+            this.adapters = adapters;
+            return true;
+        }
+    }
+
+    /**
+     * @param listener notified about handlers exceeding their deadline or bulkhead
+     */
+    public void addListener(@NonNull HandlerListener listener) {
+        this.watchdog.addListener(listener);
+    }
+
+    public void removeListener(@NonNull HandlerListener listener) {
+        this.watchdog.removeListener(listener);
+    }
+
     @SuppressWarnings("unused")
     public void subscribe(Object... instances) {
-        Arrays.stream(instances).forEach(instance -> {
-            List<Method> methods = Arrays.stream(instance.getClass().getDeclaredMethods())
-                    .filter(method -> method.isAnnotationPresent(Observe.class))
-                    .collect(Collectors.toList());
+        this.subscribe(null, false, instances);
+    }
 
-            this.instances.put(instance, methods);
-        });
+    /**
+     * Subscribe instances which only receive events with the routing key, see {@link Route}.
+     * Publishing only reaches the subscribers of the routing key instead of every subscriber of the event class.
+     *
+     * @param key       routing key compared by its string form, overrides {@link Observe#key()} of every observing method
+     * @param instances instances to subscribe
+     */
+    @SuppressWarnings("unused")
+    public void subscribeKeyed(@NonNull Object key, Object... instances) {
+        this.subscribe(Routing.normalize(key), false, instances);
+    }
+
+    /**
+     * Subscribe instances without keeping them reachable.
+     * Once an instance has been garbage collected, its handlers are purged on the next publish or registry change.
+     *
+     * @param instances instances to subscribe
+     */
+    @SuppressWarnings("unused")
+    public void subscribeWeak(Object... instances) {
+        this.subscribe(null, true, instances);
+    }
+
+    /*
+     * Previous subscriptions of all instances are removed and the new handlers added with one table modification each,
+     * metadata is shared per class. Subscribing N instances therefore costs O(N)
+     */
+    private void subscribe(Object key, boolean weak, Object[] instances) {
+        synchronized (this.registryLock) {
+            DispatchTable table = this.purge(this.dispatchTable, this.collected.poll());
+
+            IdentityHashMap<Object, Object> previous = new IdentityHashMap<>();
+            Set<Object> batch = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Object> owners = new ArrayList<>(instances.length);
+            IdentityHashMap<Object, Executor> lanes = new IdentityHashMap<>();
+
+            for (Object instance : instances) {
+                if (!batch.add(instance))
+                    continue;
+
+                List<HandlerMetadata> methods = HandlerMetadata.of(instance.getClass());
+
+                /*
+                 * Subscribing an instance twice replaces its previous handlers, pending serial invocations keep their lane
+                 */
+                Object replaced = this.unregister(instance, previous);
+                Executor lane = replaced == null ? null : this.lanes.remove(replaced);
+
+                Object owner = instance;
+
+                if (weak) {
+                    WeakSubscription subscription = new WeakSubscription(instance, key, methods, this.collected);
+                    this.weakInstances.put(subscription, subscription);
+                    owner = subscription;
+                } else {
+                    this.instances.computeIfAbsent(instance.getClass(), type -> new IdentityHashMap<>()).put(instance, key);
+                }
+
+                owners.add(owner);
+
+                if (methods.stream().anyMatch(method -> method.getExecution() == Async.Mode.SERIAL)) {
+                    Executor serial = lane != null ? lane : new SerialExecutor(this.executorService);
+                    lanes.put(owner, serial);
+                    this.lanes.put(owner, serial);
+                }
+            }
+
+            if (!previous.isEmpty())
+                table = table.without(previous);
+
+            this.dispatchTable = table.with(owners, key, lanes);
+        }
     }
 
     @SuppressWarnings("unused")
     public void unsubscribe(Object... instances) {
-        Arrays.stream(instances).forEach(this.instances::remove);
+        synchronized (this.registryLock) {
+            DispatchTable table = this.purge(this.dispatchTable, this.collected.poll());
+
+            IdentityHashMap<Object, Object> previous = new IdentityHashMap<>();
+
+            for (Object instance : instances) {
+                Object replaced = this.unregister(instance, previous);
+
+                if (replaced != null)
+                    this.lanes.remove(replaced);
+            }
+
+            this.dispatchTable = previous.isEmpty() ? table : table.without(previous);
+        }
     }
 
-    public <T extends JationEvent<T>> void publish(@NonNull JationEvent<T> event, Object... additional) {
-        Set<Method> methods = getMethods(event.getClass());
+    /*
+     * Removes the strong or weak registry entry of an instance, must be called under the registry lock.
+     * The owner of the removed subscription is added to the owners with its routing key and returned, null if the instance has not been subscribed
+     */
+    private Object unregister(Object instance, IdentityHashMap<Object, Object> owners) {
+        Map<Object, Object> subscribed = this.instances.get(instance.getClass());
+
+        if (subscribed != null && subscribed.containsKey(instance)) {
+            owners.put(instance, subscribed.remove(instance));
+
+            if (subscribed.isEmpty())
+                this.instances.remove(instance.getClass());
+
+            return instance;
+        }
 
-        if (!getFunctions(event.getClass(), this.outset).stream().allMatch(function -> function.apply(event)))
+        if (this.weakInstances.isEmpty())
+            return null;
+
+        WeakSubscription subscription = this.weakInstances.remove(new WeakSubscription(instance, null, Collections.emptyList(), null));
+
+        if (subscription != null)
+            owners.put(subscription, subscription.getKey());
+
+        return subscription;
+    }
+
+    /*
+     * Only polls the reference queue, the registry is never scanned for collected instances
+     */
+    private void purge() {
+        Reference<?> reference = this.collected.poll();
+
+        if (reference == null)
             return;
 
-        methods.stream().sorted(Comparator.comparingInt(o -> -o.getAnnotation(Observe.class).priority())).forEach(method -> {
-            getInstance(method.getDeclaringClass()).ifPresent(instance -> {
-                Runnable task = () -> {
-                    if (!getFunctions(event.getClass(), this.forEach).stream().allMatch(function -> function.apply(Arrays.asList(event, method, instance))))
-                        return;
+        synchronized (this.registryLock) {
+            this.dispatchTable = this.purge(this.dispatchTable, reference);
+        }
+    }
 
-                    this.invoke(method, instance, getParameters(method, Stream.concat(Stream.of(event), Arrays.stream(additional)).toArray()));
-                };
+    private DispatchTable purge(DispatchTable table, Reference<?> reference) {
+        IdentityHashMap<Object, Object> owners = new IdentityHashMap<>();
 
-                if (method.isAnnotationPresent(Async.class)) {
-                    this.executorService.execute(task);
-                    return;
-                }
+        for (; reference != null; reference = this.collected.poll()) {
+            WeakSubscription subscription = (WeakSubscription) reference;
 
-                task.run();
-            });
-        });
+            /*
+             * Subscriptions which have been removed explicitly are already gone from the table
+             */
+            if (this.weakInstances.remove(subscription) == null)
+                continue;
 
-        getFunctions(event.getClass(), this.closing).forEach(function -> function.apply(event));
+            owners.put(subscription, subscription.getKey());
+            this.lanes.remove(subscription);
+        }
 
-        this.adapters.forEach(adapter -> adapter.publish(event, additional));
+        return owners.isEmpty() ? table : table.without(owners);
     }
 
+    /**
+     * Publish without additional parameters. Unlike the varargs overload, callers do not allocate an empty array
+     *
+     * @param event event to be published
+     */
+    public <T extends JationEvent<T>> void publish(@NonNull JationEvent<T> event) {
+        this.publish(event, NO_ADDITIONAL);
+    }
+
+    public <T extends JationEvent<T>> void publish(@NonNull JationEvent<T> event, Object... additional) {
+        this.purge();
+
+        Metrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+
+        DispatchTable table = this.dispatchTable;
+        Object route = Routing.keyOf(event);
+
+        if (this.dispatch(event, route, table.get(event.getClass()), table.get(event.getClass(), route), additional, metrics)) {
+            EventJournal journal = this.journal;
+
+            if (journal != null)
+                journal.append(event, additional);
+
+            long adapters = metrics == null ? 0 : System.nanoTime();
+
+            for (NetworkAdapter adapter : this.adapters) {
+                adapter.publish(event, additional);
+            }
+
+            if (metrics != null)
+                metrics.recordAdapters(event.getClass(), System.nanoTime() - adapters);
+        }
+
+        if (metrics != null)
+            metrics.recordPublish(event.getClass(), System.nanoTime() - start);
+    }
+
+    /**
+     * The publishing task itself is not bounded by the {@link BoundedQueue}, only the asynchronous invocations it submits are.
+     * Otherwise it would hold a permit while waiting for permits of its own handlers
+     */
     public <T extends JationEvent<T>> void publishAsync(@NonNull JationEvent<T> event, Object... additional) {
         this.executorService.execute(() -> {
             publish(event, Arrays.stream(additional).toArray());
         });
     }
 
+    /**
+     * Publish a burst of events in their iteration order.
+     * Handlers are resolved once per event class and the {@link #on(Class, Function)} hooks still run for every single event.
+     * Events which have not been cancelled are handed to every {@link NetworkAdapter} in one call.
+     *
+     * @param events     events to be published
+     * @param additional additional parameters shared by all events
+     */
+    @SuppressWarnings("unused")
+    public void publishAll(@NonNull Collection<? extends JationEvent<?>> events, Object... additional) {
+        this.purge();
+
+        DispatchTable table = this.dispatchTable;
+        Metrics metrics = this.metrics;
+
+        Map<Class<?>, Handler[]> handlers = new HashMap<>();
+        List<JationEvent<?>> published = new ArrayList<>(events.size());
+
+        for (JationEvent<?> event : events) {
+            long start = metrics == null ? 0 : System.nanoTime();
+
+            Object route = Routing.keyOf(event);
+
+            if (this.dispatch(event, route, handlers.computeIfAbsent(event.getClass(), table::get), table.get(event.getClass(), route), additional, metrics))
+                published.add(event);
+
+            if (metrics != null)
+                metrics.recordPublish(event.getClass(), System.nanoTime() - start);
+        }
+
+        if (published.isEmpty())
+            return;
+
+        EventJournal journal = this.journal;
+
+        if (journal != null)
+            published.forEach(event -> journal.append(event, additional));
+
+        List<JationEvent<?>> distributed = this.conflate(published);
+        long start = metrics == null ? 0 : System.nanoTime();
+
+        for (NetworkAdapter adapter : this.adapters) {
+            adapter.publishAll(distributed, additional);
+        }
+
+        /*
+         * Batches may mix event classes, they are therefore recorded as a whole
+         */
+        if (metrics != null)
+            metrics.recordAdapters(JationEvent.class, System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("unused")
+    public void publishAllAsync(@NonNull Collection<? extends JationEvent<?>> events, Object... additional) {
+        List<JationEvent<?>> snapshot = new ArrayList<>(events);
+
+        /*
+         * Not bounded by the queue, see publishAsync
+         */
+        this.executorService.execute(() -> {
+            publishAll(snapshot, Arrays.stream(additional).toArray());
+        });
+    }
+
+    /*
+     * Drop every conflatable event of a batch that is superseded by a later event with the same key
+     */
+    private List<JationEvent<?>> conflate(List<JationEvent<?>> events) {
+        if (events.stream().noneMatch(event -> Conflation.isConflatable(event.getClass())))
+            return events;
+
+        Set<List<Object>> keys = new HashSet<>();
+        LinkedList<JationEvent<?>> latest = new LinkedList<>();
+
+        for (int index = events.size() - 1; index >= 0; index--) {
+            JationEvent<?> event = events.get(index);
+            Object key = Conflation.keyOf(event);
+
+            if (key == null || keys.add(Arrays.asList(event.getClass(), key)))
+                latest.addFirst(event);
+        }
+
+        return latest;
+    }
+
+    /*
+     * Runs the hooks and handlers of a single event. Returns false if the event has been cancelled by an outset hook.
+     * Hooks are only ever appended, they are iterated by index to avoid the iterator of the copy-on-write lists.
+     * Synchronous handlers therefore do not allocate in steady state
+     */
+    private boolean dispatch(JationEvent<?> event, Object route, Handler[] handlers, Handler[] keyed, Object[] additional, Metrics metrics) {
+        long start = metrics == null ? 0 : System.nanoTime();
+
+        if (!this.apply(getFunctions(event.getClass(), this.outset), event) || route != null && !this.apply(getFunctions(event.getClass(), route, this.keyedOutset), event)) {
+            if (metrics != null)
+                metrics.recordHooks(event.getClass(), System.nanoTime() - start);
+
+            return false;
+        }
+
+        long hooks = metrics == null ? 0 : System.nanoTime() - start;
+
+        Object[] arguments = null;
+        Object key = null;
+
+        /*
+         * Synchronous handlers of the current priority level, only collected if they are fanned out
+         */
+        ForkJoinPool pool = this.fanOutPool;
+        List<Handler> level = null;
+
+        /*
+         * Merge the handlers without a key and those of the routing key by priority, handlers without a key go first on equal priority
+         */
+        int unkeyed = 0, routed = 0;
+
+        while (unkeyed < handlers.length || routed < keyed.length) {
+            Handler handler = routed == keyed.length || unkeyed < handlers.length && handlers[unkeyed].getPriority() >= keyed[routed].getPriority()
+                    ? handlers[unkeyed++]
+                    : keyed[routed++];
+
+            if (level != null && !level.isEmpty() && level.get(0).getPriority() != handler.getPriority())
+                this.deliver(pool, level, event, additional, metrics);
+
+            if (!handler.isAsync()) {
+                if (pool == null) {
+                    this.deliver(handler, event, additional, metrics);
+                    continue;
+                }
+
+                if (level == null)
+                    level = new ArrayList<>();
+
+                level.add(handler);
+                continue;
+            }
+
+            /*
+             * Asynchronous deliveries outlive the publish call, they get their own copy of the arguments
+             */
+            if (arguments == null) {
+                arguments = new Object[additional.length + 1];
+                arguments[0] = event;
+                System.arraycopy(additional, 0, arguments, 1, additional.length);
+
+                key = Conflation.keyOf(event);
+            }
+
+            Object[] retained = arguments;
+
+            if (key == null) {
+                this.execute(this.getExecutor(handler), () -> this.deliver(handler, retained, metrics));
+                continue;
+            }
+
+            /*
+             * Only schedule a delivery if none is pending for the key, otherwise the pending delivery picks up the newer arguments
+             */
+            if (!handler.conflate(event.getClass(), key, retained))
+                continue;
+
+            Object conflation = key;
+
+            this.execute(this.getExecutor(handler), () -> {
+                Object[] latest = handler.take(event.getClass(), conflation);
+
+                if (latest != null)
+                    this.deliver(handler, latest, metrics);
+            }, () -> handler.take(event.getClass(), conflation));
+        }
+
+        if (level != null && !level.isEmpty())
+            this.deliver(pool, level, event, additional, metrics);
+
+        long closing = metrics == null ? 0 : System.nanoTime();
+
+        List<Function<JationEvent<?>, Boolean>> after = getFunctions(event.getClass(), this.closing);
+        for (int index = 0; index < after.size(); index++) {
+            after.get(index).apply(event);
+        }
+
+        if (metrics != null)
+            metrics.recordHooks(event.getClass(), hooks + System.nanoTime() - closing);
+
+        return true;
+    }
+
+    private boolean apply(List<Function<JationEvent<?>, Boolean>> functions, JationEvent<?> event) {
+        for (int index = 0; index < functions.size(); index++) {
+            if (!functions.get(index).apply(event))
+                return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Runs one priority level on the pool and waits for every handler of it before the next level starts.
+     * The publishing thread takes the first handler itself. Failures are thrown once the whole level is done,
+     * the first one in handler order carries the others as suppressed exceptions
+     */
     @SneakyThrows
-    private void invoke(Method method, Object instance, Object[] parameters) {
-        method.setAccessible(true);
-        method.invoke(instance, parameters);
+    private void deliver(ForkJoinPool pool, List<Handler> level, JationEvent<?> event, Object[] additional, Metrics metrics) {
+        Throwable[] failures = new Throwable[level.size()];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[level.size()];
+
+        for (int index = 1; index < level.size(); index++) {
+            Handler handler = level.get(index);
+            int slot = index;
+
+            tasks[index] = pool.submit(() -> {
+                try {
+                    this.deliver(handler, event, additional, metrics);
+                } catch (Throwable throwable) {
+                    failures[slot] = throwable;
+                }
+            });
+        }
+
+        try {
+            this.deliver(level.get(0), event, additional, metrics);
+        } catch (Throwable throwable) {
+            failures[0] = throwable;
+        }
+
+        Throwable failure = null;
+
+        for (int index = 0; index < level.size(); index++) {
+            if (tasks[index] != null)
+                tasks[index].join();
+
+            if (failures[index] == null)
+                continue;
+
+            if (failure == null)
+                failure = failures[index];
+            else
+                failure.addSuppressed(failures[index]);
+        }
+
+        level.clear();
+
+        if (failure != null)
+            throw failure;
+    }
+
+    private void deliver(Handler handler, Object[] arguments, Metrics metrics) {
+        this.deliver(handler, (JationEvent<?>) arguments[0], Arrays.copyOfRange(arguments, 1, arguments.length), metrics);
+    }
+
+    /*
+     * Invokes a single handler. The observing method is only resolved if there are forEach hooks to pass it to
+     */
+    private void deliver(Handler handler, JationEvent<?> event, Object[] additional, Metrics metrics) {
+        Watchdog.Invocation guard = null;
+
+        if (handler.isGuarded() && (guard = this.watchdog.enter(handler, event)) == null)
+            return;
+
+        long invocation = metrics == null ? 0 : System.nanoTime();
+
+        try {
+            List<TriConsumer<Boolean, JationEvent<?>, Method, Object>> forEach = getFunctions(event.getClass(), this.forEach);
+            for (int index = 0; index < forEach.size(); index++) {
+                if (!forEach.get(index).accept(event, handler.getMethod(), handler.getInstance()))
+                    return;
+            }
+
+            this.invoke(handler, event, additional);
+        } catch (Throwable throwable) {
+            if (metrics != null)
+                metrics.recordFailure(handler.getMetadata());
+
+            throw throwable;
+        } finally {
+            if (metrics != null)
+                metrics.recordHandler(handler.getMetadata(), System.nanoTime() - invocation);
+
+            if (guard != null)
+                this.watchdog.exit(guard);
+        }
+    }
+
+    private void execute(Executor executor, Runnable task) {
+        this.execute(executor, task, () -> {});
+    }
+
+    /*
+     * The discard callback runs if the task will never be run, either due to backpressure or a rejecting executor
+     */
+    private void execute(Executor executor, Runnable task, Runnable onDiscard) {
+        if (this.queue != null) {
+            this.queue.submit(executor, task, onDiscard);
+            return;
+        }
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            onDiscard.run();
+            throw ex;
+        }
+    }
+
+    private Executor getExecutor(Handler handler) {
+        return switch (handler.getExecution()) {
+            case EXECUTOR -> this.executorService;
+            case VIRTUAL -> this.virtualExecutor;
+            case SERIAL -> {
+                if (handler.getLane() == null)
+                    throw new IllegalStateException("Serial handler without a lane: " + handler.getMethod());
+
+                yield handler.getLane();
+            }
+        };
+    }
+
+    @SneakyThrows
+    private void invoke(Handler handler, JationEvent<?> event, Object[] additional) {
+        handler.invoke(event, additional);
     }
 
     @SuppressWarnings("unused")
@@ -120,45 +709,48 @@ public class JationObserver {
     }
 
     public <T extends JationEvent<T>> void on(Class<T> clazz, @NonNull Function<T, Boolean> function) {
-        List<Function<JationEvent<?>, Boolean>> functions = this.outset.getOrDefault(clazz, new ArrayList<>());
-        functions.add(this.transformFunction(function));
-        this.outset.put(clazz, functions);
+        this.outset.computeIfAbsent(clazz, key -> new CopyOnWriteArrayList<>()).add(this.transformFunction(function));
+    }
+
+    /**
+     * Consumer pattern for a single routing key, see {@link Route}
+     *
+     * @param clazz    event class
+     * @param key      routing key compared by its string form
+     * @param consumer consumer of every event with the routing key
+     */
+    @SuppressWarnings("unused")
+    public <T extends JationEvent<T>> void onKeyed(Class<T> clazz, @NonNull Object key, @NonNull Consumer<T> consumer) {
+        this.filterKeyed(clazz, key, t -> {
+            consumer.accept(t);
+            return true;
+        });
+    }
+
+    /**
+     * Separate name, a block lambda would be compatible with both a consumer and a function overload
+     *
+     * @param clazz    event class
+     * @param key      routing key compared by its string form
+     * @param function hook of every event with the routing key, returning false cancels the event
+     */
+    public <T extends JationEvent<T>> void filterKeyed(Class<T> clazz, @NonNull Object key, @NonNull Function<T, Boolean> function) {
+        this.keyedOutset.computeIfAbsent(clazz, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(Routing.normalize(key), route -> new CopyOnWriteArrayList<>())
+                .add(this.transformFunction(function));
     }
 
     @SuppressWarnings("unused")
     public <T extends JationEvent<T>> void forEach(Class<T> clazz, @NonNull TriConsumer<Boolean, T, Method, Object> consumer) {
-        List<Function<List<Object>, Boolean>> functions = this.forEach.getOrDefault(clazz, new ArrayList<>());
-        functions.add(object -> consumer.accept((T) object.get(0), (Method) object.get(1), object.get(2)));
-        this.forEach.put(clazz, functions);
+        this.forEach.computeIfAbsent(clazz, key -> new CopyOnWriteArrayList<>()).add(this.transformConsumer(consumer));
     }
 
     @SuppressWarnings("unused")
     public <T extends JationEvent<T>> void after(Class<T> clazz, @NonNull Consumer<T> consumer) {
-        List<Function<JationEvent<?>, Boolean>> functions = this.closing.getOrDefault(clazz, new ArrayList<>());
-        functions.add(object -> {
+        this.closing.computeIfAbsent(clazz, key -> new CopyOnWriteArrayList<>()).add(object -> {
             consumer.accept((T) object);
             return true;
         });
-        this.closing.put(clazz, functions);
-    }
-
-    private Object[] getParameters(@NonNull Method method, Object... additional) {
-        List<Object> unused = new ArrayList<>(Arrays.asList(additional));
-        return Arrays.stream(method.getParameters()).map(parameter -> {
-            Optional<?> optional = Arrays.stream(additional).filter(parameter.getType()::isInstance).filter(unused::contains).findFirst();
-
-            if (!optional.isPresent() && !parameter.isAnnotationPresent(Null.class))
-                throw new IllegalStateException(method.getName() + ": Parameter is not allowed to be null: " + parameter.getName());
-
-            optional.ifPresent(unused::remove);
-            return optional.orElse(null);
-        }).toArray();
-    }
-
-    private Set<Method> getMethods(@NonNull Class<?> event) {
-        return this.instances.values().stream().flatMap(List::stream).filter(method -> Arrays.stream(method.getParameters())
-                .anyMatch(parameter -> parameter.getType().equals(event)))
-                .collect(Collectors.toSet());
     }
 
     /*
@@ -170,12 +762,46 @@ public class JationObserver {
         return (Function<JationEvent<?>, U>) function;
     }
 
-    private <T> Set<Function<T, Boolean>> getFunctions(Class<?> clazz, Map<Class<? extends JationEvent<?>>, List<Function<T, Boolean>>> map) {
-        return new HashSet<>(map.getOrDefault(clazz, new ArrayList<>()));
+    private <T extends JationEvent<T>> TriConsumer<Boolean, JationEvent<?>, Method, Object> transformConsumer(TriConsumer<Boolean, T, Method, Object> consumer) {
+        return (TriConsumer<Boolean, JationEvent<?>, Method, Object>) (TriConsumer<Boolean, ?, Method, Object>) consumer;
+    }
+
+    /*
+     * Hook lists are copy-on-write, iterating them already works on a consistent snapshot
+     */
+    private <T> List<T> getFunctions(Class<?> clazz, Map<Class<? extends JationEvent<?>>, List<T>> map) {
+        return map.getOrDefault(clazz, Collections.emptyList());
+    }
+
+    private <T> List<T> getFunctions(Class<?> clazz, Object key, Map<Class<? extends JationEvent<?>>, Map<Object, List<T>>> map) {
+        Map<Object, List<T>> keyed = map.get(clazz);
+        return keyed == null ? Collections.emptyList() : keyed.getOrDefault(key, Collections.emptyList());
     }
 
+    /**
+     * @param clazz class of the subscribed instances
+     * @return any subscribed instance of the class, see {@link #getInstances(Class)} for all of them
+     */
     public Optional<Object> getInstance(Class<?> clazz) {
-        return this.instances.keySet().stream().filter(instance -> instance.getClass().equals(clazz))
-                .findAny();
+        return this.getInstances(clazz).stream().findFirst();
+    }
+
+    /**
+     * @param clazz class of the subscribed instances
+     * @return snapshot of all strongly and weakly subscribed instances of the class which have not been collected
+     */
+    public List<Object> getInstances(Class<?> clazz) {
+        synchronized (this.registryLock) {
+            List<Object> instances = new ArrayList<>(this.instances.getOrDefault(clazz, Collections.emptyMap()).keySet());
+
+            for (WeakSubscription subscription : this.weakInstances.keySet()) {
+                Object instance = subscription.get();
+
+                if (instance != null && instance.getClass().equals(clazz))
+                    instances.add(instance);
+            }
+
+            return instances;
+        }
     }
 }
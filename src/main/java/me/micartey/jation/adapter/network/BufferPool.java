@@ -0,0 +1,46 @@
+package me.micartey.jation.adapter.network;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pool of direct buffers for datagrams.
+ * Direct buffers are expensive to allocate but are handed to the socket without an intermediate copy,
+ * so they are reused instead of being allocated per packet.
+ */
+public class BufferPool {
+
+    @Getter private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    /**
+     * @param bufferSize capacity of every buffer
+     * @param maxPooled  amount of released buffers kept for reuse, further buffers are left to the garbage collector
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * @return cleared buffer, either pooled or newly allocated
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = this.buffers.poll();
+
+        if (buffer == null)
+            return ByteBuffer.allocateDirect(this.bufferSize);
+
+        return buffer.clear();
+    }
+
+    /**
+     * @param buffer buffer obtained by {@link #acquire()}, must not be used afterwards
+     */
+    public void release(ByteBuffer buffer) {
+        this.buffers.offer(buffer);
+    }
+}
@@ -0,0 +1,209 @@
+package me.micartey.jation.adapter.network;
+
+import me.micartey.jation.adapter.network.serializer.WireFormat;
+import me.micartey.jation.executor.TimingWheel;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Packs encoded packets headed to the same destination into a single {@link WireFormat} batch.
+ * A batch is sent once the next packet doesn't fit into the MTU anymore or once the first packet lingered for the configured time,
+ * so acks ride along with events and other acks to the same destination instead of taking a datagram each.
+ * <br />
+ * Destinations are only equal if they consist of the same addresses. Acks to a single node must never be merged into datagrams
+ * sent to the whole cluster, other receivers of an {@link me.micartey.jation.annotations.Distribution.Guarantee#EXACTLY_ONCE} event would pick them up as well.
+ * <br />
+ * Batches are only filled while holding the monitor, full or lingered batches are sent after releasing it.
+ * They are still sent in the order they have been sealed, an event must never be overtaken by a lingering batch carrying its ack.
+ */
+class DatagramBatcher {
+
+    private static final int MIN_FRAME_SIZE = 2;
+    private static final int MAX_POOLED = 64;
+
+    /*
+     * Finer ticks than this only make the wheel thread spin without sending any earlier
+     */
+    private static final long MIN_TICK_MICROS = 50;
+
+    private final int mtu;
+    private final long lingerMicros;
+
+    private final BufferPool buffers;
+    private final BiConsumer<ByteBuffer, List<? extends SocketAddress>> writer;
+
+    private final Map<List<? extends SocketAddress>, Batch> batches = new HashMap<>();
+
+    /*
+     * Sealed batches in the order they have been removed from the map, guarded by the monitor.
+     * Only a single thread at a time drains them while holding the send lock
+     */
+    private final Queue<Batch> sealed = new ArrayDeque<>();
+    private final Object sending = new Object();
+
+    /*
+     * Fires the linger timeouts, the wheel thread only runs while batches are lingering
+     */
+    private final TimingWheel wheel;
+
+    private boolean closed;
+
+    /**
+     * @param mtu          max size of a datagram
+     * @param lingerMicros microseconds a packet waits for further packets to the same destination, rounded up to at least {@value #MIN_TICK_MICROS}
+     * @param writer       sends a flipped buffer to every address of the destination
+     */
+    DatagramBatcher(int mtu, long lingerMicros, BiConsumer<ByteBuffer, List<? extends SocketAddress>> writer) {
+        if (mtu <= WireFormat.BATCH_HEADER)
+            throw new IllegalArgumentException("MTU must fit a batch header: " + mtu);
+
+        if (lingerMicros < 0)
+            throw new IllegalArgumentException("Linger must not be negative: " + lingerMicros);
+
+        this.mtu = mtu;
+        this.lingerMicros = lingerMicros;
+        this.buffers = new BufferPool(mtu, MAX_POOLED);
+        this.writer = writer;
+        this.wheel = new TimingWheel("jation-batcher", Math.max(lingerMicros, MIN_TICK_MICROS), TimeUnit.MICROSECONDS, 64);
+    }
+
+    /**
+     * @param packet  packet encoded by {@link WireFormat#encode(Object)}
+     * @param targets addresses to send the packet to, must not be modified afterwards
+     */
+    void add(byte[] packet, List<? extends SocketAddress> targets) {
+        int size = WireFormat.frameSize(packet);
+
+        /*
+         * Too large to share a datagram with anything else
+         */
+        if (WireFormat.BATCH_HEADER + size > this.mtu) {
+            this.writer.accept(ByteBuffer.wrap(packet), targets);
+            return;
+        }
+
+        synchronized (this) {
+            Batch batch = this.batches.get(targets);
+
+            if (batch != null && batch.buffer.remaining() < size) {
+                this.batches.remove(targets);
+                this.sealed.add(batch);
+                batch = null;
+            }
+
+            if (batch == null) {
+                if (this.closed)
+                    throw new RejectedExecutionException("Batcher has been closed");
+
+                batch = new Batch(targets, this.buffers.acquire());
+                this.batches.put(targets, batch);
+
+                Batch lingering = batch;
+                batch.timeout = this.wheel.schedule(() -> this.linger(lingering), this.lingerMicros, TimeUnit.MICROSECONDS);
+            }
+
+            WireFormat.putFrame(batch.buffer, packet);
+            batch.frames++;
+
+            /*
+             * Not even the smallest ack fits anymore
+             */
+            if (batch.buffer.remaining() < MIN_FRAME_SIZE) {
+                this.batches.remove(targets);
+                this.sealed.add(batch);
+            }
+        }
+
+        this.flush();
+    }
+
+    /**
+     * Drop lingering batches and stop the linger timeouts, packets added afterwards are rejected
+     */
+    void close() {
+        synchronized (this) {
+            this.closed = true;
+            this.wheel.stop();
+
+            this.batches.values().forEach(batch -> this.buffers.release(batch.buffer));
+            this.batches.clear();
+        }
+    }
+
+    /*
+     * Does nothing if the batch has been sent because it was full
+     */
+    private void linger(Batch batch) {
+        synchronized (this) {
+            if (!this.batches.remove(batch.targets, batch))
+                return;
+
+            this.sealed.add(batch);
+        }
+
+        this.flush();
+    }
+
+    /*
+     * Batches sealed by other threads in the meantime are sent as well, whichever thread gets the send lock first sends all of them
+     */
+    private void flush() {
+        synchronized (this.sending) {
+            Batch batch;
+            while ((batch = this.poll()) != null) {
+                this.send(batch);
+            }
+        }
+    }
+
+    private synchronized Batch poll() {
+        return this.sealed.poll();
+    }
+
+    /*
+     * The batch has already been removed, no other thread writes to its buffer anymore
+     */
+    private void send(Batch batch) {
+        batch.timeout.cancel();
+
+        try {
+            ByteBuffer buffer = batch.buffer.flip();
+
+            /*
+             * A single frame is sent as plain packet, which is one byte shorter and understood by nodes without batching.
+             * The version byte is moved in front of the frame
+             */
+            if (batch.frames == 1)
+                buffer.put(1, WireFormat.VERSION).position(1);
+
+            this.writer.accept(buffer, batch.targets);
+        } finally {
+            this.buffers.release(batch.buffer);
+        }
+    }
+
+    private static class Batch {
+
+        private final List<? extends SocketAddress> targets;
+        private final ByteBuffer buffer;
+
+        private int frames;
+        private TimingWheel.Timeout timeout;
+
+        private Batch(List<? extends SocketAddress> targets, ByteBuffer buffer) {
+            this.targets = targets;
+            this.buffer = buffer;
+
+            WireFormat.putBatchHeader(this.buffer);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package me.micartey.jation.adapter.network;
+
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Serves the channels of several {@link UdpNetworkAdapter}s on a single thread instead of one blocked thread per adapter.
+ * Adapters are registered by {@link UdpNetworkAdapter#useSelector(DatagramSelector)}.
+ */
+public class DatagramSelector implements AutoCloseable {
+
+    private final Selector selector;
+
+    /*
+     * Channels can only be registered while the selector is not blocked in select, registrations are therefore done by the selector thread
+     */
+    private final Queue<UdpNetworkAdapter> pending = new ConcurrentLinkedQueue<>();
+
+    @SneakyThrows
+    public DatagramSelector() {
+        this.selector = Selector.open();
+
+        Thread thread = new Thread(this::run, "jation-selector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void register(UdpNetworkAdapter adapter) {
+        this.pending.add(adapter);
+        this.selector.wakeup();
+    }
+
+    /*
+     * Cancelled keys are only deregistered, and their channels only released, by the next select
+     */
+    void wakeup() {
+        this.selector.wakeup();
+    }
+
+    private void run() {
+        try {
+            while (this.selector.isOpen()) {
+                this.selector.select();
+
+                UdpNetworkAdapter adapter;
+                while ((adapter = this.pending.poll()) != null) {
+                    try {
+                        adapter.register(this.selector);
+                    } catch (ClosedChannelException ignored) {
+                        // Adapter has been closed before its channels were registered
+                    }
+                }
+
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (key.isValid() && key.isReadable())
+                        this.drain(key);
+                }
+            }
+        } catch (ClosedSelectorException ignored) {
+            // Selector has been closed
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /*
+     * A single readiness notification may cover several datagrams.
+     * A failing channel only loses its own key, the other adapters are still served
+     */
+    private void drain(SelectionKey key) {
+        try {
+            while (((UdpNetworkAdapter) key.attachment()).receive((DatagramChannel) key.channel()));
+        } catch (ClosedChannelException ex) {
+            key.cancel();
+        } catch (IOException ex) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.selector.close();
+    }
+}
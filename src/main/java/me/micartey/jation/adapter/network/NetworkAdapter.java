@@ -4,6 +4,7 @@ import me.micartey.jation.JationObserver;
 import me.micartey.jation.interfaces.JationEvent;
 
 import java.net.InetAddress;
+import java.util.Collection;
 
 public interface NetworkAdapter {
 
@@ -23,6 +24,17 @@ public interface NetworkAdapter {
      */
     void publish(JationEvent<?> event, Object... additional);
 
+    /**
+     * Batch variant of {@link #publish(JationEvent, Object...)} invoked by {@link JationObserver#publishAll(Collection, Object...)}.
+     * Adapters can override this to send the whole batch at once, by default every event is published on its own.
+     *
+     * @param events published events in publish order
+     * @param additional additional classes that should be published with every event
+     */
+    default void publishAll(Collection<? extends JationEvent<?>> events, Object... additional) {
+        events.forEach(event -> this.publish(event, additional));
+    }
+
     /**
      * Called by {@link JationObserver#addAdapter(NetworkAdapter)} to set its own instance.
      * Use this instance for any operations that require the jation observer class.
@@ -0,0 +1,83 @@
+package me.micartey.jation.adapter.network;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retransmission schedule of unacknowledged packets.
+ * The timeout starts at {@link #getInitialTimeout()} and is multiplied after every attempt up to {@link #getMaxTimeout()}.
+ * Every timeout is randomized by {@link #getJitter()}, so senders which lost packets at the same time don't retransmit in lockstep.
+ */
+@Getter
+public class RetryPolicy {
+
+    /**
+     * Starts at 500 milliseconds, doubles up to 8 seconds and retransmits until the event has been acknowledged
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(500, 2, 8000, 0.2, 0, 0);
+
+    private final long initialTimeout;
+    private final double multiplier;
+    private final long maxTimeout;
+    private final double jitter;
+    private final int maxAttempts;
+    private final long deadline;
+
+    /**
+     * @param initialTimeout milliseconds to wait for an acknowledgement after the first attempt
+     * @param multiplier     factor the timeout grows by after every attempt, one for a constant timeout
+     * @param maxTimeout     upper bound of the timeout in milliseconds
+     * @param jitter         fraction of the timeout it is randomly shortened or extended by, between zero and one
+     * @param maxAttempts    attempts before giving up, unlimited if zero
+     * @param deadline       milliseconds after the first attempt to give up, unlimited if zero
+     */
+    public RetryPolicy(long initialTimeout, double multiplier, long maxTimeout, double jitter, int maxAttempts, long deadline) {
+        if (initialTimeout <= 0 || maxTimeout < initialTimeout)
+            throw new IllegalArgumentException("Timeouts must be positive and the initial timeout must not exceed the max timeout");
+
+        if (multiplier < 1 || jitter < 0 || jitter > 1)
+            throw new IllegalArgumentException("Multiplier must be at least one and jitter between zero and one");
+
+        if (maxAttempts < 0 || deadline < 0)
+            throw new IllegalArgumentException("Max attempts and deadline must not be negative");
+
+        this.initialTimeout = initialTimeout;
+        this.multiplier = multiplier;
+        this.maxTimeout = maxTimeout;
+        this.jitter = jitter;
+        this.maxAttempts = maxAttempts;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @param initialTimeout milliseconds between attempts
+     * @param maxAttempts    attempts before giving up, unlimited if zero
+     * @return policy retransmitting at a constant rate without jitter
+     */
+    public static RetryPolicy fixed(long initialTimeout, int maxAttempts) {
+        return new RetryPolicy(initialTimeout, 1, initialTimeout, 0, maxAttempts, 0);
+    }
+
+    /**
+     * @param attempts attempts made so far, at least one
+     * @return milliseconds to wait for an acknowledgement before the next attempt
+     */
+    public long timeout(int attempts) {
+        double timeout = Math.min(this.initialTimeout * Math.pow(this.multiplier, attempts - 1), this.maxTimeout);
+
+        if (this.jitter > 0)
+            timeout *= 1 + ThreadLocalRandom.current().nextDouble(-this.jitter, this.jitter);
+
+        return Math.max(1, Math.round(timeout));
+    }
+
+    /**
+     * @param attempts attempts made so far
+     * @param elapsed  milliseconds since the first attempt
+     * @return true if no further attempt must be made
+     */
+    public boolean isExhausted(int attempts, long elapsed) {
+        return (this.maxAttempts > 0 && attempts >= this.maxAttempts) || (this.deadline > 0 && elapsed >= this.deadline);
+    }
+}
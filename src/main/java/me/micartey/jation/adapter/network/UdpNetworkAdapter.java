@@ -1,43 +1,128 @@
 package me.micartey.jation.adapter.network;
 
+import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import me.micartey.jation.JationObserver;
+import me.micartey.jation.adapter.network.codec.Codec;
+import me.micartey.jation.adapter.network.codec.CodecRegistry;
 import me.micartey.jation.adapter.network.packets.PacketAcknowledge;
 import me.micartey.jation.adapter.network.packets.PacketInvokeMethod;
 import me.micartey.jation.adapter.network.serializer.Serializer;
+import me.micartey.jation.adapter.network.serializer.WireFormat;
 import me.micartey.jation.annotations.Distribution;
+import me.micartey.jation.dispatch.Conflation;
+import me.micartey.jation.executor.Backpressure;
+import me.micartey.jation.executor.BoundedQueue;
+import me.micartey.jation.executor.TimingWheel;
+import me.micartey.jation.interfaces.DeliveryListener;
 import me.micartey.jation.interfaces.Function;
 import me.micartey.jation.interfaces.JationEvent;
 import me.micartey.jation.utilities.Base64;
 
+import java.io.IOException;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
-public class UdpNetworkAdapter implements NetworkAdapter {
-
-    private static final ExecutorService RETRY_EXECUTOR = Executors.newCachedThreadPool();
+public class UdpNetworkAdapter implements NetworkAdapter, AutoCloseable {
 
     private static final Serializer SERIALIZER = new Serializer();
-    private static final int SOCKET_BUFFER_SIZE = 4096;
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /*
+     * Shared by all adapters, a buffer is only held for the duration of a single send or receive
+     */
+    private static final BufferPool BUFFERS = new BufferPool(MAX_DATAGRAM_SIZE, 32);
+
+    private final Map<Integer, Function<SocketAddress>> tasks = new ConcurrentHashMap<>();
+
+    /*
+     * Unacknowledged events sent by this adapter
+     */
+    private final Map<Integer, Retransmission> pending = new ConcurrentHashMap<>();
+    private final List<DeliveryListener> listeners = new CopyOnWriteArrayList<>();
 
-    private final Map<Integer, Function<DatagramPacket>> tasks = new HashMap<>();
+    private volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+
+    /*
+     * Drives every retransmission of this adapter, so an in-flight event costs a timeout instead of a parked thread
+     */
+    private final TimingWheel retransmissions = new TimingWheel("jation-retransmission", 10, TimeUnit.MILLISECONDS, 512);
+
+    /*
+     * Transaction id of the latest distributed event per conflation key
+     */
+    private final Map<Class<?>, Map<Object, Integer>> conflated = new ConcurrentHashMap<>();
 
-    private final List<InetAddress> interfaceAddress = new ArrayList<>();
     private final AtomicInteger transactionCounter = new AtomicInteger();
-    private final DatagramSocket datagramSocket;
     private final int[] targetPorts;
 
-    @Setter private JationObserver observer = JationObserver.DEFAULT_OBSERVER;
+    /*
+     * Every interface address combined with every target port, resolved once per added interface instead of once per send
+     */
+    private volatile List<InetSocketAddress> targets = Collections.emptyList();
+
+    /*
+     * Bound to the same port, more than one if readers use SO_REUSEPORT. Packets are sent through the first channel
+     */
+    private DatagramChannel[] channels;
+
+    /*
+     * Serves the channels together with other adapters if set, otherwise listen blocks its own threads
+     */
+    private DatagramSelector selector;
+
+    /*
+     * Packs outgoing packets into shared datagrams if set, otherwise every packet is sent on its own
+     */
+    private volatile DatagramBatcher batcher;
+
+    /*
+     * Receive pipeline: readers hand datagrams to the decode stage, which sends acks right away
+     * and hands acknowledged events to the dispatch stage. Stages are connected by bounded queues
+     */
+    private int decoders = 1, dispatchers = 1, capacity = DEFAULT_CAPACITY;
+
+    /*
+     * Created by the first listen, adding the adapter to another observer keeps the running pipeline
+     */
+    private volatile Pipeline pipeline;
+    private volatile boolean closed;
+
+    /*
+     * Send packets in the text format of the serializer, for clusters with nodes that don't understand the binary format yet
+     */
+    private boolean legacy;
+
+    /*
+     * Payload codecs, ignored for the legacy format which always uses java serialization
+     */
+    @Getter private volatile CodecRegistry codecs = new CodecRegistry();
+
+    @Setter private volatile JationObserver observer = JationObserver.DEFAULT_OBSERVER;
 
     @SneakyThrows
     public UdpNetworkAdapter(int port, int... targetPorts) {
-        this.datagramSocket = new DatagramSocket(port);
+        this.channels = new DatagramChannel[] { open(port, false) };
         this.targetPorts = targetPorts;
     }
 
@@ -48,121 +133,312 @@ public class UdpNetworkAdapter implements NetworkAdapter {
 
     @Override
     public void publish(JationEvent<?> event, Object... additional) {
-        /*
-         * Recursion anchor to prevent an infinite loop.
-         * Once this adapter will publish an event, it will add its instance and will therefore be present in the obejct array
-         */
-        if (Arrays.stream(additional).filter(Objects::nonNull).anyMatch(object -> object instanceof NetworkAdapter))
+        if (this.closed || isRemote(additional))
             return;
 
+        this.distribute(event, additional);
+    }
+
+    /**
+     * Checks the recursion anchor once for the whole batch and serializes the shared additional objects only once
+     */
+    @Override
+    public void publishAll(Collection<? extends JationEvent<?>> events, Object... additional) {
+        if (this.closed || isRemote(additional))
+            return;
+
+        byte[] serializedAdditional = null;
+
+        for (JationEvent<?> event : events) {
+            if (!event.getClass().isAnnotationPresent(Distribution.class))
+                continue;
+
+            if (serializedAdditional == null)
+                serializedAdditional = this.serializeAll(additional);
+
+            this.distribute(event, serializedAdditional);
+        }
+    }
+
+    /*
+     * Recursion anchor to prevent an infinite loop.
+     * Once this adapter will publish an event, it will add its instance and will therefore be present in the obejct array
+     */
+    private boolean isRemote(Object[] additional) {
+        for (Object object : additional) {
+            if (object instanceof NetworkAdapter)
+                return true;
+        }
+
+        return false;
+    }
+
+    private void distribute(JationEvent<?> event, Object[] additional) {
         /*
          * Ignore event if distribution annotation isn't present
          */
         if (!event.getClass().isAnnotationPresent(Distribution.class))
             return;
 
+        this.distribute(event, this.serializeAll(additional));
+    }
+
+    private void distribute(JationEvent<?> event, byte[] serializedAdditional) {
+        /*
+         * Observers keep publishing to adapters which have been closed but not removed, their events are dropped
+         */
+        if (this.closed)
+            return;
+
         Distribution.Guarantee garantee = event.getClass().getAnnotation(Distribution.class).value();
 
         int id = nextId();
-        String serializedPacket = SERIALIZER.serialize(
+        byte[] serializedPacket = this.encode(
                 new PacketInvokeMethod(
                         id,
-                        Base64.toBase64(event).orElseThrow(() -> new RuntimeException("Cannot serialize event to base64")),
-                        Base64.toBase64(additional).orElseThrow(() -> new RuntimeException("Cannot serialize additional"))
+                        this.serialize(event),
+                        serializedAdditional
                 ),
-                PacketInvokeMethod.class
+                this.legacy
         );
 
-        String ackPacket = SERIALIZER.serialize(
-                new PacketAcknowledge(id),
-                PacketAcknowledge.class
-        );
+        byte[] ackPacket = this.encode(new PacketAcknowledge(id), this.legacy);
 
-        switch(garantee) {
-            case EXACTLY_ONCE -> {
-                tasks.put(id, packet -> send(ackPacket, packet.getAddress(), packet.getPort()));
+        /*
+         * A newer event supersedes the pending retransmission of an older event with the same key
+         */
+        Object key = Conflation.keyOf(event);
 
-                /*
-                 * Send broadcast as long as defined task above has not been picked up.
-                 * Task above will answer directly
-                 */
-                RETRY_EXECUTOR.submit(() -> {
-                    try {
-                        while(tasks.containsKey(id)) {
-                            for(int port : this.targetPorts) {
-                                send(serializedPacket, port);
-                            }
-                            Thread.sleep(2000);
-                        }
-                    } catch(InterruptedException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                });
+        if (key != null) {
+            Integer previous = this.conflated.computeIfAbsent(event.getClass(), type -> new ConcurrentHashMap<>()).put(key, id);
+
+            if (previous != null) {
+                tasks.remove(previous);
+                this.acknowledged(previous);
             }
+        }
 
-            case AT_LEAST_ONCE -> {
-                tasks.put(id, packet -> {
-                }); // Simple placeholder
+        switch(garantee) {
+            /*
+             * Retransmit until the first receiver acknowledged, the task answers it directly
+             */
+            case EXACTLY_ONCE -> tasks.put(id, sender -> send(ackPacket, Collections.singletonList(sender)));
 
-                RETRY_EXECUTOR.submit(() -> {
-                    try {
-                        while(tasks.containsKey(id)) {
-                            for(int port : this.targetPorts) {
-                                send(serializedPacket, port);
-                                send(ackPacket, port);
-                            }
-                            Thread.sleep(2000);
-                        }
-                    } catch(InterruptedException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                });
-            }
+            /*
+             * Simple placeholder. Every receiver picks up the ack which is retransmitted together with the event
+             */
+            case AT_LEAST_ONCE -> tasks.put(id, sender -> {
+            });
         }
+
+        Retransmission retransmission = new Retransmission(id, event, key, serializedPacket, garantee == Distribution.Guarantee.AT_LEAST_ONCE ? ackPacket : null, this.retryPolicy);
+        this.pending.put(id, retransmission);
+
+        retransmission.attempt();
     }
 
+    /*
+     * Stop retransmitting once acknowledged or superseded
+     */
+    private void acknowledged(int id) {
+        Retransmission retransmission = this.pending.remove(id);
+
+        if (retransmission != null)
+            retransmission.cancel();
+    }
+
+    /*
+     * Only removes the conflation key if no newer event took it over in the meantime
+     */
+    private void release(Retransmission retransmission) {
+        if (retransmission.key == null)
+            return;
+
+        Map<Object, Integer> keys = this.conflated.get(retransmission.event.getClass());
+
+        if (keys != null)
+            keys.remove(retransmission.key, retransmission.id);
+    }
+
+    /**
+     * Start the receive pipeline once, further calls return right away.
+     * Without a selector the calling thread becomes the reader of the first channel until the adapter is closed
+     */
     @SneakyThrows
     public void listen() {
-        byte[] buffer = new byte[SOCKET_BUFFER_SIZE];
-        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        synchronized (this) {
+            if (this.pipeline != null || this.closed)
+                return;
+
+            this.pipeline = new Pipeline(this.decoders, this.dispatchers, this.capacity, this.selector != null ? 0 : this.channels.length);
+        }
+
+        if (this.selector != null) {
+            for (DatagramChannel channel : this.channels) {
+                channel.configureBlocking(false);
+            }
+
+            this.selector.register(this);
+            return;
+        }
+
+        /*
+         * One reader per channel. Readers sharing a channel could hand datagrams of the same sender to the decoders out of order
+         */
+        for (int reader = 1; reader < this.channels.length; reader++) {
+            DatagramChannel channel = this.channels[reader];
+            daemon("jation-udp-reader").newThread(() -> this.read(channel)).start();
+        }
+
+        this.read(this.channels[0]);
+    }
 
-        while(true) {
-            this.datagramSocket.receive(packet); // Blocked Waiting for broadcast message
-            String message = new String(packet.getData(), 0, packet.getLength());
+    private void read(DatagramChannel channel) {
+        try {
+            while (channel.isOpen()) {
+                try {
+                    this.receive(channel); // Blocked Waiting for broadcast message
+                } catch (ClosedChannelException ex) {
+                    return; // Adapter has been closed
+                } catch (IOException ex) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), ex);
+                }
+            }
+        } finally {
+            this.pipeline.readers.countDown();
+        }
+    }
 
-            Object parsedPacket = SERIALIZER.deserialize(message, PacketInvokeMethod.class, PacketAcknowledge.class);
+    /*
+     * Called by the selector thread
+     */
+    void register(Selector selector) throws IOException {
+        for (DatagramChannel channel : this.channels) {
+            channel.register(selector, SelectionKey.OP_READ, this);
+        }
+    }
+
+    /*
+     * Receive a single datagram and hand it to the decode stage. Returns false if the channel is non-blocking and no datagram is available
+     */
+    boolean receive(DatagramChannel channel) throws IOException {
+        ByteBuffer buffer = BUFFERS.acquire();
+        SocketAddress sender;
+        byte[] datagram;
+
+        try {
+            sender = channel.receive(buffer);
+
+            if (sender == null)
+                return false;
 
             /*
-             * Whenever the server receives an acknowledgment, it will execute some task
+             * Queued datagrams are copied out of the pooled buffer, so the queue only holds as much memory as was actually received
              */
-            if (parsedPacket instanceof PacketAcknowledge ack) {
-                tasks.getOrDefault(ack.getAckId(), (datagramPacket) -> { }).apply(packet);
-                tasks.remove(ack.getAckId());
+            datagram = new byte[buffer.flip().remaining()];
+            buffer.get(datagram);
+        } finally {
+            BUFFERS.release(buffer);
+        }
+
+        if (datagram.length > 0)
+            this.pipeline.decode(sender, () -> this.decode(ByteBuffer.wrap(datagram), sender));
+
+        return true;
+    }
+
+    private void decode(ByteBuffer buffer, SocketAddress sender) {
+        try {
+            this.handle(buffer, sender);
+        } catch (Exception ex) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), ex);
+        }
+    }
+
+    /*
+     * Decoded packets never reference the buffer, it is released as soon as this returns
+     */
+    private void handle(ByteBuffer buffer, SocketAddress sender) throws Exception {
+        /*
+         * Answer in the format of the sender, so nodes of both formats can be mixed during a migration
+         */
+        boolean legacy = WireFormat.isLegacy(buffer.get(0));
+        List<Object> parsedPackets;
+
+        if (legacy) {
+            byte[] message = new byte[buffer.remaining()];
+            buffer.get(message);
+
+            parsedPackets = List.of(SERIALIZER.deserialize(new String(message, StandardCharsets.UTF_8), PacketInvokeMethod.class, PacketAcknowledge.class));
+        } else {
+            try {
+                parsedPackets = WireFormat.decodeAll(buffer);
+            } catch (IllegalArgumentException ex) {
+                return; // Packet of a newer protocol version or corrupted
             }
+        }
+
+        /*
+         * Frames of a batch are handled in the order they have been sent, an event before the ack that was packed behind it
+         */
+        for (Object parsedPacket : parsedPackets) {
+            this.handle(parsedPacket, legacy, sender);
+        }
+    }
 
+    private void handle(Object parsedPacket, boolean legacy, SocketAddress sender) throws Exception {
+        /*
+         * Whenever the server receives an acknowledgment, it will execute some task
+         */
+        if (parsedPacket instanceof PacketAcknowledge ack) {
             /*
-             * When invoke method packet is received, send an ack and wait for a confirmation
+             * Claim the task atomically, the adapter might be listened on by more than one thread
              */
-            else if (parsedPacket instanceof PacketInvokeMethod invoke) {
-                int ackId = invoke.getAckId();
+            Function<SocketAddress> task = tasks.remove(ack.getAckId());
+            this.acknowledged(ack.getAckId());
 
-                this.tasks.put(ackId, (datagramPacket) -> {
-                    JationEvent<?> event = (JationEvent<?>) Base64.fromBase64(invoke.getEventData()).get();
-                    Object[] objects = (Object[]) Base64.fromBase64(invoke.getAdditionalObjects()).get();
+            if (task != null)
+                task.apply(sender);
+        }
 
-                    // Add adapter instance as last argument
-                    objects = Arrays.copyOf(objects, objects.length + 1);
-                    objects[objects.length - 1] = this;
+        /*
+         * When invoke method packet is received, send an ack and wait for a confirmation
+         */
+        else if (parsedPacket instanceof PacketInvokeMethod invoke) {
+            /*
+             * Handlers can't keep up. Without an ack the sender backs off and retransmits instead of the queue growing without bound
+             */
+            if (this.pipeline.isSaturated())
+                return;
 
-                    this.observer.publish(event, objects);
-                });
+            int ackId = invoke.getAckId();
 
-                this.send(
-                        SERIALIZER.serialize(new PacketAcknowledge(ackId), PacketAcknowledge.class),
-                        packet.getAddress(),
-                        packet.getPort()
-                );
-            }
+            this.tasks.put(ackId, (acknowledgedBy) -> {
+                JationEvent<?> event;
+                Object[] objects;
+
+                /*
+                 * Payloads are in the format of the sender. An undecodable payload must not stop the listener
+                 */
+                try {
+                    event = (JationEvent<?>) (legacy ? Base64.fromBytes(invoke.getEventData()).orElseThrow() : this.codecs.decode(invoke.getEventData()));
+                    objects = legacy ? (Object[]) Base64.fromBytes(invoke.getAdditionalObjects()).orElseThrow() : this.codecs.decodeAll(invoke.getAdditionalObjects());
+                } catch (RuntimeException ex) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), ex);
+                    return;
+                }
+
+                // Add adapter instance as last argument
+                Object[] additional = Arrays.copyOf(objects, objects.length + 1);
+                additional[additional.length - 1] = this;
+
+                /*
+                 * Handlers run on the dispatch stage, a slow handler doesn't hold back decoding and acknowledging further packets
+                 */
+                this.pipeline.dispatch(() -> this.observer.publish(event, additional));
+            });
+
+            this.send(new PacketAcknowledge(ackId), legacy, sender);
         }
     }
 
@@ -177,22 +453,115 @@ public class UdpNetworkAdapter implements NetworkAdapter {
         return id;
     }
 
+    private byte[] serialize(Object value) {
+        if (this.legacy)
+            return Base64.toBytes(value).orElseThrow(() -> new RuntimeException("Cannot serialize event"));
+
+        return this.codecs.encode(value);
+    }
+
+    private byte[] serializeAll(Object[] values) {
+        if (this.legacy)
+            return Base64.toBytes(values).orElseThrow(() -> new RuntimeException("Cannot serialize additional"));
+
+        return this.codecs.encodeAll(values);
+    }
+
+    private byte[] encode(Object packet, boolean legacy) {
+        if (legacy)
+            return SERIALIZER.serialize(packet, packet.getClass()).getBytes(StandardCharsets.UTF_8);
+
+        return WireFormat.encode(packet);
+    }
+
+    /*
+     * Copy the encoded message into a direct buffer once and write the same buffer to every target
+     */
+    private void send(byte[] message, List<? extends SocketAddress> targets) {
+        DatagramBatcher batcher = this.batcher;
+
+        if (batcher != null && !WireFormat.isLegacy(message[0])) {
+            batcher.add(message, targets);
+            return;
+        }
+
+        ByteBuffer buffer = BUFFERS.acquire();
+
+        try {
+            this.write(buffer.put(message).flip(), targets);
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    /*
+     * Send the remaining bytes of the buffer to every target
+     */
     @SneakyThrows
-    private void send(String message, InetAddress address, int port) {
-        byte[] replyBuffer = message.getBytes(StandardCharsets.UTF_8);
-        DatagramPacket packet = new DatagramPacket(replyBuffer, replyBuffer.length, address, port);
-        this.datagramSocket.send(packet);
+    private void write(ByteBuffer buffer, List<? extends SocketAddress> targets) {
+        int position = buffer.position();
+
+        for (int index = 0; index < targets.size(); index++) {
+            this.channels[0].send(buffer.position(position), targets.get(index));
+        }
     }
 
+    /*
+     * Encode the packet directly into a direct buffer
+     */
     @SneakyThrows
-    private void send(String message, int port) {
-        for(InetAddress address : this.interfaceAddress) {
-            byte[] buffer = message.getBytes(StandardCharsets.UTF_8);
-            DatagramPacket packet = new DatagramPacket(buffer, buffer.length, address, port);
-            this.datagramSocket.send(packet);
+    private void send(Object packet, boolean legacy, SocketAddress target) {
+        DatagramBatcher batcher = this.batcher;
+
+        if (batcher != null && !legacy) {
+            batcher.add(WireFormat.encode(packet), List.of(target));
+            return;
+        }
+
+        ByteBuffer buffer = BUFFERS.acquire();
+
+        try {
+            if (legacy)
+                buffer.put(this.encode(packet, true));
+            else
+                WireFormat.encode(packet, buffer);
+
+            this.channels[0].send(buffer.flip(), target);
+        } finally {
+            BUFFERS.release(buffer);
         }
     }
 
+    /*
+     * SO_REUSEPORT lets several channels bind the same port, the kernel then spreads datagrams across them
+     */
+    private static DatagramChannel open(int port, boolean reusePort) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        channel.setOption(StandardSocketOptions.SO_BROADCAST, true);
+
+        if (reusePort)
+            channel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+
+        return channel.bind(new InetSocketAddress(port));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private synchronized void addTarget(InetAddress address) {
+        List<InetSocketAddress> targets = new ArrayList<>(this.targets);
+        for (int port : this.targetPorts) {
+            targets.add(new InetSocketAddress(address, port));
+        }
+
+        this.targets = targets;
+    }
+
     @SneakyThrows
     public UdpNetworkAdapter useBroadcastInterface() {
         Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
@@ -210,7 +579,7 @@ public class UdpNetworkAdapter implements NetworkAdapter {
                 if (broadcast == null)
                     continue;
 
-                this.interfaceAddress.add(broadcast); // Add all broadcast interfaces
+                this.addTarget(broadcast); // Add all broadcast interfaces
             }
         }
 
@@ -234,12 +603,147 @@ public class UdpNetworkAdapter implements NetworkAdapter {
                 if (loopback == null)
                     continue;
 
-                this.interfaceAddress.add(loopback);
+                this.addTarget(loopback);
                 return this;
             }
         }
 
-        this.interfaceAddress.add(InetAddress.getLoopbackAddress());
+        this.addTarget(InetAddress.getLoopbackAddress());
+        return this;
+    }
+
+    /**
+     * Encode payloads of the class with a codec instead of java serialization.
+     * Every receiving adapter needs the same codec registered.
+     *
+     * @param type  event or additional object class
+     * @param codec codec of the class
+     * @return current instance to allow chained calles
+     */
+    public <T> UdpNetworkAdapter registerCodec(@NonNull Class<T> type, @NonNull Codec<T> codec) {
+        this.codecs.register(type, codec);
+        return this;
+    }
+
+    /**
+     * Encode payloads of the record or class with the built-in {@link me.micartey.jation.adapter.network.codec.FieldCodec}
+     *
+     * @param type event or additional object class
+     * @return current instance to allow chained calles
+     */
+    public UdpNetworkAdapter registerCodec(@NonNull Class<?> type) {
+        this.codecs.register(type);
+        return this;
+    }
+
+    /**
+     * Share the codecs of another adapter
+     *
+     * @param codecs codecs to encode payloads with
+     * @return current instance to allow chained calles
+     */
+    public UdpNetworkAdapter useCodecs(@NonNull CodecRegistry codecs) {
+        this.codecs = codecs;
+        return this;
+    }
+
+    /**
+     * Serve the channel on the thread of the selector together with other adapters, instead of blocking a thread in {@link #listen()}
+     *
+     * @param selector selector shared by several adapters
+     * @return current instance to allow chained calles
+     */
+    public UdpNetworkAdapter useSelector(@NonNull DatagramSelector selector) {
+        this.selector = selector;
+        return this;
+    }
+
+    /**
+     * Configure the receive pipeline, needs to be called before the adapter is added to an observer.
+     * Multiple readers get their own channel through SO_REUSEPORT where available, otherwise a single reader is used.
+     * Events are only published in receive order with a single dispatcher.
+     *
+     * @param readers     threads receiving datagrams, ignored if a selector is used
+     * @param decoders    threads decoding packets and sending acks, packets of the same sender are always decoded by the same thread
+     * @param dispatchers threads publishing received events to the observer
+     * @param capacity    bound of the queues between the stages, events are not acknowledged while the dispatch stage is full
+     * @return current instance to allow chained calles
+     */
+    @SneakyThrows
+    public UdpNetworkAdapter usePipeline(int readers, int decoders, int dispatchers, int capacity) {
+        if (readers <= 0 || decoders <= 0 || dispatchers <= 0)
+            throw new IllegalArgumentException("Every stage needs at least one thread");
+
+        if (readers > 1 && this.channels.length == 1 && this.channels[0].supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT)) {
+            int port = ((InetSocketAddress) this.channels[0].getLocalAddress()).getPort();
+            this.channels[0].close();
+
+            DatagramChannel[] channels = new DatagramChannel[readers];
+            for (int index = 0; index < readers; index++) {
+                channels[index] = open(port, true);
+            }
+
+            this.channels = channels;
+        }
+
+        this.decoders = decoders;
+        this.dispatchers = dispatchers;
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Pack events and acks headed to the same destination into a single datagram.
+     * Every node of the cluster needs to understand batches, which are part of the binary {@link WireFormat} only.
+     * A lone packet is sent as is once the linger time is over.
+     *
+     * @param mtu          max size of a datagram, 1472 bytes fit an ethernet frame without fragmentation
+     * @param lingerMicros microseconds a packet waits for further packets to the same destination, with a resolution of 50 microseconds
+     * @return current instance to allow chained calles
+     */
+    public UdpNetworkAdapter useBatching(int mtu, long lingerMicros) {
+        if (mtu > MAX_DATAGRAM_SIZE)
+            throw new IllegalArgumentException("MTU exceeds the max datagram size: " + mtu);
+
+        this.batcher = new DatagramBatcher(mtu, lingerMicros, this::write);
+        return this;
+    }
+
+    /**
+     * Retransmission schedule of events distributed from now on
+     *
+     * @param retryPolicy policy to retransmit unacknowledged events by
+     * @return current instance to allow chained calles
+     */
+    public UdpNetworkAdapter useRetryPolicy(@NonNull RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    public void addListener(@NonNull DeliveryListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(@NonNull DeliveryListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * @return amount of distributed events which have neither been acknowledged nor given up on
+     */
+    public int getPending() {
+        return this.pending.size();
+    }
+
+    /**
+     * Send packets in the Base64 text format of earlier versions instead of the binary {@link WireFormat}.
+     * Received packets are understood in both formats and answered in the format of their sender,
+     * so a cluster can be migrated one node at a time before this option is removed again.
+     *
+     * @return current instance to allow chained calles
+     */
+    public UdpNetworkAdapter useLegacyWireFormat() {
+        this.legacy = true;
         return this;
     }
 
@@ -251,7 +755,232 @@ public class UdpNetworkAdapter implements NetworkAdapter {
      * @return current instance to allow chained calles
      */
     public UdpNetworkAdapter addInterface(InetAddress address) {
-        this.interfaceAddress.add(address);
+        this.addTarget(address);
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Stop receiving and retransmitting. Closed channels are removed from the selector by its next select, the selector itself is left open for other adapters.
+     * Pending retransmissions are given up on without notifying the listeners and lingering batches are dropped.
+     * Events published afterwards are dropped as well, see {@link JationObserver#removeAdapter(NetworkAdapter)}
+     */
+    @Override
+    public void close() throws IOException {
+        Pipeline pipeline;
+
+        synchronized (this) {
+            if (this.closed)
+                return;
+
+            this.closed = true;
+            pipeline = this.pipeline;
+        }
+
+        for (DatagramChannel channel : this.channels) {
+            channel.close();
+        }
+
+        /*
+         * The socket of a channel is only released once the last reader blocked on it returned
+         */
+        if (pipeline != null)
+            pipeline.awaitReaders();
+
+        if (this.selector != null)
+            this.selector.wakeup();
+
+        this.retransmissions.stop();
+        this.pending.clear();
+        this.tasks.clear();
+        this.conflated.clear();
+
+        DatagramBatcher batcher = this.batcher;
+
+        if (batcher != null)
+            batcher.close();
+
+        if (pipeline != null)
+            pipeline.shutdown();
+    }
+
+    /*
+     * A failing listener must not stop the retransmission of other events
+     */
+    private void notifyListeners(Consumer<DeliveryListener> notification) {
+        for (DeliveryListener listener : this.listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException ex) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+            }
+        }
+    }
+
+    /*
+     * Pending retransmission of a distributed event. Attempts after the first one run on the timing wheel
+     */
+    private class Retransmission implements Runnable {
+
+        private final int id;
+        private final JationEvent<?> event;
+        private final Object key;
+        private final byte[] packet, ack;
+        private final RetryPolicy policy;
+        private final long start = System.nanoTime();
+
+        private int attempts;
+        private volatile TimingWheel.Timeout timeout;
+
+        private Retransmission(int id, JationEvent<?> event, Object key, byte[] packet, byte[] ack, RetryPolicy policy) {
+            this.id = id;
+            this.event = event;
+            this.key = key;
+            this.packet = packet;
+            this.ack = ack;
+            this.policy = policy;
+        }
+
+        private void attempt() {
+            send(this.packet, targets);
+
+            if (this.ack != null)
+                send(this.ack, targets);
+
+            this.attempts++;
+            this.timeout = retransmissions.schedule(this, this.policy.timeout(this.attempts), TimeUnit.MILLISECONDS);
+        }
+
+        /*
+         * Only releases the timeout early, a timeout scheduled concurrently finds the retransmission removed and does nothing
+         */
+        private void cancel() {
+            release(this);
+
+            TimingWheel.Timeout timeout = this.timeout;
+
+            if (timeout != null)
+                timeout.cancel();
+        }
+
+        @Override
+        public void run() {
+            if (closed || pending.get(this.id) != this)
+                return;
+
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start);
+
+            if (this.policy.isExhausted(this.attempts, elapsed)) {
+                if (!pending.remove(this.id, this))
+                    return;
+
+                tasks.remove(this.id);
+                release(this);
+                notifyListeners(listener -> listener.onDeliveryFailed(this.event, this.attempts));
+                return;
+            }
+
+            notifyListeners(listener -> listener.onRetransmit(this.event, this.attempts + 1));
+            this.attempt();
+        }
+    }
+
+    /*
+     * Decode and dispatch stages, datagrams are dropped like by a full socket buffer and recovered by retransmission.
+     * Decoders never wait for the dispatch stage. While it is saturated new events are not acknowledged and therefore retransmitted later,
+     * events which have already been acknowledged are still queued, so the dispatch queue only overshoots by the unconfirmed acks
+     */
+    private static class Pipeline {
+
+        /*
+         * Single threaded decoders, a sender is always decoded by the same one so its packets are handled in receive order
+         */
+        private final ExecutorService[] decoders;
+        private final ExecutorService dispatcher;
+
+        private final BoundedQueue decodeQueue;
+
+        /*
+         * Queued and running dispatches
+         */
+        private final AtomicInteger dispatching = new AtomicInteger();
+        private final int capacity;
+
+        /*
+         * Readers blocked in a receive, none if the channels are served by a selector
+         */
+        private final CountDownLatch readers;
+
+        private Pipeline(int decoders, int dispatchers, int capacity, int readers) {
+            this.decoders = new ExecutorService[decoders];
+            for (int index = 0; index < decoders; index++) {
+                this.decoders[index] = Executors.newSingleThreadExecutor(daemon("jation-udp-decoder"));
+            }
+
+            this.dispatcher = Executors.newFixedThreadPool(dispatchers, daemon("jation-udp-dispatcher"));
+
+            this.decodeQueue = new BoundedQueue(capacity, Backpressure.DROP_NEWEST);
+            this.capacity = capacity;
+            this.readers = new CountDownLatch(readers);
+        }
+
+        /*
+         * An ack must never overtake the event it belongs to, the event would be acknowledged but never be published
+         */
+        private void decode(SocketAddress sender, Runnable task) {
+            ExecutorService decoder = this.decoders[Math.floorMod(sender.hashCode(), this.decoders.length)];
+
+            try {
+                this.decodeQueue.submit(decoder, task);
+            } catch (RejectedExecutionException ex) {
+                if (!decoder.isShutdown())
+                    throw ex;
+            }
+        }
+
+        private boolean isSaturated() {
+            return this.dispatching.get() >= this.capacity;
+        }
+
+        /*
+         * Tasks handed over while closing are dropped like the datagrams still in the socket buffer
+         */
+        private void dispatch(Runnable task) {
+            this.dispatching.incrementAndGet();
+
+            try {
+                this.dispatcher.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        this.dispatching.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                this.dispatching.decrementAndGet();
+
+                if (!this.dispatcher.isShutdown())
+                    throw ex;
+            }
+        }
+
+        /*
+         * Bounded, close might be called by a reader that is about to return itself
+         */
+        private void awaitReaders() {
+            try {
+                this.readers.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void shutdown() {
+            for (ExecutorService decoder : this.decoders) {
+                decoder.shutdownNow();
+            }
+
+            this.dispatcher.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package me.micartey.jation.adapter.network.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes events or additional objects of a single class for distribution.
+ * Codecs are registered per class on a {@link CodecRegistry}, classes without a codec fall back to java serialization.
+ *
+ * @param <T> encoded class
+ */
+public interface Codec<T> {
+
+    /**
+     * @param value  value to encode, never null
+     * @param output output to write the value to
+     */
+    void encode(T value, DataOutput output) throws IOException;
+
+    /**
+     * @param input input positioned at a value written by {@link #encode(Object, DataOutput)}
+     * @return decoded value
+     */
+    T decode(DataInput input) throws IOException;
+
+}
@@ -0,0 +1,183 @@
+package me.micartey.jation.adapter.network.codec;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codecs per class, used to encode distributed events and their additional objects.
+ * Every value is preceded by a tag, so the receiver knows how to decode it:
+ * <pre>
+ * byte  tag
+ * ...   nothing for null, the value itself for strings and boxed primitives,
+ *       the class name followed by the encoded value for registered codecs,
+ *       an int length followed by the serialized object for java serialization
+ * </pre>
+ * Strings and common boxed primitives are built in. Classes without a registered codec fall back to java serialization
+ * and therefore need to implement {@link java.io.Serializable}.
+ */
+public class CodecRegistry {
+
+    private static final byte NULL = 0, STRING = 1, INT = 2, LONG = 3, DOUBLE = 4, BOOLEAN = 5, CODEC = 6, JAVA = 7;
+
+    private final Map<Class<?>, Codec<?>> codecs = new ConcurrentHashMap<>();
+    private final Map<String, Codec<?>> names = new ConcurrentHashMap<>();
+
+    /**
+     * @param type  class to encode with the codec, subclasses are not covered
+     * @param codec codec of the class, the receiving side needs the same codec registered
+     * @return current instance to allow chained calls
+     */
+    public <T> CodecRegistry register(@NonNull Class<T> type, @NonNull Codec<T> codec) {
+        this.codecs.put(type, codec);
+        this.names.put(type.getName(), codec);
+        return this;
+    }
+
+    /**
+     * Register the built-in {@link FieldCodec} for a record or a class of supported fields
+     *
+     * @param type class to encode
+     * @return current instance to allow chained calls
+     */
+    public <T> CodecRegistry register(@NonNull Class<T> type) {
+        return this.register(type, FieldCodec.of(type));
+    }
+
+    /**
+     * @param value value to encode, may be null
+     * @return tagged value
+     */
+    @SneakyThrows
+    public byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        this.write(value, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param values values to encode one after another
+     * @return int amount followed by the tagged values
+     */
+    @SneakyThrows
+    public byte[] encodeAll(@NonNull Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + values.length * 16);
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeInt(values.length);
+        for (Object value : values) {
+            this.write(value, output);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes value written by {@link #encode(Object)}
+     * @return decoded value
+     * @throws IllegalStateException if no codec is registered for the encoded class
+     */
+    @SneakyThrows
+    public Object decode(@NonNull byte[] bytes) {
+        return this.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * @param bytes values written by {@link #encodeAll(Object[])}
+     * @return decoded values
+     * @throws IllegalStateException if no codec is registered for one of the encoded classes
+     */
+    @SneakyThrows
+    public Object[] decodeAll(@NonNull byte[] bytes) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        Object[] values = new Object[input.readInt()];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = this.read(input);
+        }
+
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(Object value, DataOutputStream output) throws Exception {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String string) {
+            output.writeByte(STRING);
+            output.writeUTF(string);
+        } else if (value instanceof Integer integer) {
+            output.writeByte(INT);
+            output.writeInt(integer);
+        } else if (value instanceof Long number) {
+            output.writeByte(LONG);
+            output.writeLong(number);
+        } else if (value instanceof Double number) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean(bool);
+        } else {
+            Codec<Object> codec = (Codec<Object>) this.codecs.get(value.getClass());
+
+            if (codec != null) {
+                output.writeByte(CODEC);
+                output.writeUTF(value.getClass().getName());
+                codec.encode(value, output);
+                return;
+            }
+
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized)) {
+                objectOutputStream.writeObject(value);
+            }
+
+            output.writeByte(JAVA);
+            output.writeInt(serialized.size());
+            serialized.writeTo(output);
+        }
+    }
+
+    private Object read(DataInputStream input) throws Exception {
+        byte tag = input.readByte();
+
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> input.readUTF();
+            case INT -> input.readInt();
+            case LONG -> input.readLong();
+            case DOUBLE -> input.readDouble();
+            case BOOLEAN -> input.readBoolean();
+
+            case CODEC -> {
+                String name = input.readUTF();
+                Codec<?> codec = this.names.get(name);
+
+                if (codec == null)
+                    throw new IllegalStateException("No codec registered for " + name);
+
+                yield codec.decode(input);
+            }
+
+            case JAVA -> {
+                byte[] serialized = new byte[input.readInt()];
+                input.readFully(serialized);
+
+                try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    yield objectInputStream.readObject();
+                }
+            }
+
+            default -> throw new IllegalStateException("Unknown value tag: " + tag);
+        };
+    }
+}
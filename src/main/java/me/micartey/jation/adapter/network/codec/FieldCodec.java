@@ -0,0 +1,226 @@
+package me.micartey.jation.adapter.network.codec;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Built-in {@link Codec} for records and classes that only consist of primitives, their wrappers, strings, enums and byte arrays.
+ * Field accessors are resolved once per class and fields are written without any names or class descriptors,
+ * records in the order of their components and other classes sorted by field name. Reflection does not guarantee the declaration order,
+ * both sides therefore have to agree on an order of their own.
+ * <br />
+ * Records are created through their canonical constructor, other classes need a no-args constructor and must not have final fields.
+ *
+ * @param <T> encoded class
+ */
+public class FieldCodec<T> implements Codec<T> {
+
+    /*
+     * Byte arrays are read in chunks of up to this size, a corrupt length fails at the end of the input instead of allocating it
+     */
+    private static final int CHUNK = 8192;
+
+    private static final ClassValue<FieldCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected FieldCodec<?> computeValue(Class<?> type) {
+            return new FieldCodec<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final VarHandle[] accessors;
+    private final Kind[] kinds;
+    private final Class<?>[] types;
+    private final MethodHandle constructor;
+
+    @SneakyThrows
+    private FieldCodec(Class<T> type) {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+        Field[] fields = type.isRecord() ? components(type) : Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()))
+                .sorted(Comparator.comparing(Field::getName))
+                .toArray(Field[]::new);
+
+        this.type = type;
+        this.accessors = new VarHandle[fields.length];
+        this.kinds = new Kind[fields.length];
+        this.types = new Class<?>[fields.length];
+
+        for (int index = 0; index < fields.length; index++) {
+            Field field = fields[index];
+
+            if (!type.isRecord() && Modifier.isFinal(field.getModifiers()))
+                throw new IllegalArgumentException(type.getName() + ": Final field can only be decoded for records: " + field.getName());
+
+            this.accessors[index] = lookup.unreflectVarHandle(field);
+            this.kinds[index] = Kind.of(field.getType());
+            this.types[index] = field.getType();
+        }
+
+        if (type.isRecord()) {
+            Class<?>[] components = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new);
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class, components))
+                    .asSpreader(Object[].class, components.length);
+        } else {
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        }
+    }
+
+    /*
+     * Fields in the order of the canonical constructor
+     */
+    private static Field[] components(Class<?> type) throws NoSuchFieldException {
+        RecordComponent[] components = type.getRecordComponents();
+        Field[] fields = new Field[components.length];
+
+        for (int index = 0; index < components.length; index++) {
+            fields[index] = type.getDeclaredField(components[index].getName());
+        }
+
+        return fields;
+    }
+
+    /**
+     * @param type record or class with supported fields only
+     * @return codec of the class, created once per class
+     * @throws IllegalArgumentException if a field type is not supported or the class cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FieldCodec<T> of(@NonNull Class<T> type) {
+        return (FieldCodec<T>) CODECS.get(type);
+    }
+
+    @Override
+    public void encode(T value, DataOutput output) throws IOException {
+        for (int index = 0; index < this.accessors.length; index++) {
+            this.kinds[index].write(this.accessors[index].get(value), this.types[index], output);
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public T decode(DataInput input) {
+        Object[] values = new Object[this.accessors.length];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = this.kinds[index].read(this.types[index], input);
+        }
+
+        if (this.type.isRecord())
+            return this.type.cast(this.constructor.invoke(values));
+
+        T instance = this.type.cast(this.constructor.invoke());
+
+        for (int index = 0; index < values.length; index++) {
+            this.accessors[index].set(instance, values[index]);
+        }
+
+        return instance;
+    }
+
+    /*
+     * Primitives are written as is, references are preceded by a presence flag
+     */
+    private enum Kind {
+        BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, STRING, ENUM, BYTES;
+
+        private static Kind of(Class<?> type) {
+            if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+            if (type == byte.class || type == Byte.class) return BYTE;
+            if (type == short.class || type == Short.class) return SHORT;
+            if (type == char.class || type == Character.class) return CHAR;
+            if (type == int.class || type == Integer.class) return INT;
+            if (type == long.class || type == Long.class) return LONG;
+            if (type == float.class || type == Float.class) return FLOAT;
+            if (type == double.class || type == Double.class) return DOUBLE;
+            if (type == String.class) return STRING;
+            if (type.isEnum()) return ENUM;
+            if (type == byte[].class) return BYTES;
+
+            throw new IllegalArgumentException("Unsupported field type: " + type.getName());
+        }
+
+        private void write(Object value, Class<?> type, DataOutput output) throws IOException {
+            if (!type.isPrimitive()) {
+                output.writeBoolean(value != null);
+
+                if (value == null)
+                    return;
+            }
+
+            switch (this) {
+                case BOOLEAN -> output.writeBoolean((Boolean) value);
+                case BYTE -> output.writeByte((Byte) value);
+                case SHORT -> output.writeShort((Short) value);
+                case CHAR -> output.writeChar((Character) value);
+                case INT -> output.writeInt((Integer) value);
+                case LONG -> output.writeLong((Long) value);
+                case FLOAT -> output.writeFloat((Float) value);
+                case DOUBLE -> output.writeDouble((Double) value);
+                case STRING -> output.writeUTF((String) value);
+                case ENUM -> output.writeShort(((Enum<?>) value).ordinal());
+                case BYTES -> {
+                    output.writeInt(((byte[]) value).length);
+                    output.write((byte[]) value);
+                }
+            }
+        }
+
+        private Object read(Class<?> type, DataInput input) throws IOException {
+            if (!type.isPrimitive() && !input.readBoolean())
+                return null;
+
+            return switch (this) {
+                case BOOLEAN -> input.readBoolean();
+                case BYTE -> input.readByte();
+                case SHORT -> input.readShort();
+                case CHAR -> input.readChar();
+                case INT -> input.readInt();
+                case LONG -> input.readLong();
+                case FLOAT -> input.readFloat();
+                case DOUBLE -> input.readDouble();
+                case STRING -> input.readUTF();
+                case ENUM -> {
+                    Object[] constants = type.getEnumConstants();
+                    int ordinal = input.readShort();
+
+                    if (ordinal < 0 || ordinal >= constants.length)
+                        throw new IOException("Invalid ordinal of " + type.getName() + ": " + ordinal);
+
+                    yield constants[ordinal];
+                }
+                case BYTES -> {
+                    int length = input.readInt();
+
+                    if (length < 0)
+                        throw new IOException("Invalid length of byte array: " + length);
+
+                    byte[] bytes = new byte[Math.min(length, CHUNK)];
+                    input.readFully(bytes);
+
+                    while (bytes.length < length) {
+                        int read = bytes.length;
+                        bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * read));
+                        input.readFully(bytes, read, bytes.length - read);
+                    }
+
+                    yield bytes;
+                }
+            };
+        }
+    }
+}
@@ -14,10 +14,13 @@ public class PacketInvokeMethod {
     @Serialize("ackId")
     private int ackId;
 
+    /*
+     * Serialized payloads, the legacy text format transmits them Base64 encoded
+     */
     @Serialize("eventData")
-    public String eventData;
+    public byte[] eventData;
 
     @Serialize("additionalObjects")
-    public String additionalObjects;
+    public byte[] additionalObjects;
 
 }
@@ -22,8 +22,10 @@ public class Serializer {
         StringBuilder output = new StringBuilder();
 
         for(Field field : fields) {
+            Object value = field.get(instance);
+
             Base64.toBase64(
-                    field.getAnnotation(Serialize.class).value() + ":" + field.get(instance)
+                    field.getAnnotation(Serialize.class).value() + ":" + (value instanceof byte[] bytes ? java.util.Base64.getEncoder().encodeToString(bytes) : value)
             ).ifPresent(output::append);
 
             output.append(SEPERATOR);
@@ -85,6 +87,9 @@ public class Serializer {
             return null;
 
         try {
+            if (type.equals(byte[].class))
+                return java.util.Base64.getDecoder().decode(name);
+
             if (type.equals(List.class)) {
                 String data = name.replaceAll("^\\[|]$", "");
 
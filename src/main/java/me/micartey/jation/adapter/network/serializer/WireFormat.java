@@ -0,0 +1,232 @@
+package me.micartey.jation.adapter.network.serializer;
+
+import lombok.NonNull;
+import me.micartey.jation.adapter.network.packets.PacketAcknowledge;
+import me.micartey.jation.adapter.network.packets.PacketInvokeMethod;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary envelope of the packets exchanged by {@link me.micartey.jation.adapter.network.UdpNetworkAdapter}.
+ * <pre>
+ * byte    protocol version
+ * byte    packet type
+ * varint  ack id
+ * varint  event length, event bytes              (invoke only)
+ * varint  additional length, additional bytes    (invoke only)
+ * </pre>
+ * A batch packs several packets into a single datagram. Its frames are the packets without their version byte,
+ * they are self-delimiting and follow each other up to the end of the datagram.
+ * <pre>
+ * byte    protocol version
+ * byte    batch type
+ * frame*  packet type, ack id and fields of every packet
+ * </pre>
+ * Payloads are encoded by a {@link me.micartey.jation.adapter.network.codec.CodecRegistry} since version 2.
+ * The version byte is never a Base64 character, packets of the legacy {@link Serializer} text format are told apart by their first byte.
+ */
+public class WireFormat {
+
+    public static final byte VERSION = 2;
+
+    private static final byte INVOKE = 1;
+    private static final byte ACKNOWLEDGE = 2;
+    private static final byte BATCH = 3;
+
+    /**
+     * Bytes a batch takes up in front of its frames
+     */
+    public static final int BATCH_HEADER = 2;
+
+    /**
+     * @param packet {@link PacketInvokeMethod} or {@link PacketAcknowledge}
+     * @return encoded packet, sized exactly
+     */
+    public static byte[] encode(@NonNull Object packet) {
+        ByteBuffer buffer = ByteBuffer.allocate(size(packet));
+        encode(packet, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * @param packet {@link PacketInvokeMethod} or {@link PacketAcknowledge}
+     * @param buffer buffer to write the packet to, at least {@link #size(Object)} bytes need to remain
+     */
+    public static void encode(@NonNull Object packet, @NonNull ByteBuffer buffer) {
+        if (packet instanceof PacketAcknowledge acknowledge) {
+            buffer.put(VERSION).put(ACKNOWLEDGE);
+            putVarInt(buffer, acknowledge.getAckId());
+            return;
+        }
+
+        if (packet instanceof PacketInvokeMethod invoke) {
+            buffer.put(VERSION).put(INVOKE);
+            putVarInt(buffer, invoke.getAckId());
+            putBytes(buffer, invoke.getEventData());
+            putBytes(buffer, invoke.getAdditionalObjects());
+            return;
+        }
+
+        throw new IllegalArgumentException("Unknown packet: " + packet.getClass().getName());
+    }
+
+    /**
+     * @param packet {@link PacketInvokeMethod} or {@link PacketAcknowledge}
+     * @return amount of bytes the encoded packet takes up
+     */
+    public static int size(@NonNull Object packet) {
+        if (packet instanceof PacketAcknowledge acknowledge)
+            return 2 + sizeOf(acknowledge.getAckId());
+
+        if (packet instanceof PacketInvokeMethod invoke)
+            return 2 + sizeOf(invoke.getAckId())
+                    + sizeOf(invoke.getEventData().length) + invoke.getEventData().length
+                    + sizeOf(invoke.getAdditionalObjects().length) + invoke.getAdditionalObjects().length;
+
+        throw new IllegalArgumentException("Unknown packet: " + packet.getClass().getName());
+    }
+
+    /**
+     * @param buffer buffer to write the header of a batch to, frames are appended by {@link #putFrame(ByteBuffer, byte[])}
+     */
+    public static void putBatchHeader(@NonNull ByteBuffer buffer) {
+        buffer.put(VERSION).put(BATCH);
+    }
+
+    /**
+     * @param buffer buffer to append the frame to, at least {@link #frameSize(byte[])} bytes need to remain
+     * @param packet packet encoded by {@link #encode(Object)}
+     */
+    public static void putFrame(@NonNull ByteBuffer buffer, @NonNull byte[] packet) {
+        buffer.put(packet, 1, packet.length - 1);
+    }
+
+    /**
+     * @param packet packet encoded by {@link #encode(Object)}
+     * @return amount of bytes the packet takes up as frame of a batch
+     */
+    public static int frameSize(@NonNull byte[] packet) {
+        return packet.length - 1;
+    }
+
+    /**
+     * @param buffer buffer positioned at the version byte, limited to the end of the packet
+     * @return {@link PacketInvokeMethod} or {@link PacketAcknowledge}
+     * @throws IllegalArgumentException if the version or type is unknown, the packet is truncated or a batch
+     */
+    public static Object decode(@NonNull ByteBuffer buffer) {
+        try {
+            version(buffer);
+            return frame(buffer, buffer.get());
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated packet", ex);
+        }
+    }
+
+    /**
+     * Unpack a single packet or every frame of a batch in one pass
+     *
+     * @param buffer buffer positioned at the version byte, limited to the end of the datagram
+     * @return {@link PacketInvokeMethod}s and {@link PacketAcknowledge}s in the order they have been written
+     * @throws IllegalArgumentException if the version or a type is unknown or a frame is truncated
+     */
+    public static List<Object> decodeAll(@NonNull ByteBuffer buffer) {
+        try {
+            version(buffer);
+            byte type = buffer.get();
+
+            if (type != BATCH)
+                return List.of(frame(buffer, type));
+
+            List<Object> packets = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                packets.add(frame(buffer, buffer.get()));
+            }
+
+            return packets;
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated packet", ex);
+        }
+    }
+
+    private static void version(ByteBuffer buffer) {
+        byte version = buffer.get();
+
+        if (version != VERSION)
+            throw new IllegalArgumentException("Unsupported protocol version: " + version);
+    }
+
+    private static Object frame(ByteBuffer buffer, byte type) {
+        int ackId = getVarInt(buffer);
+
+        return switch (type) {
+            case ACKNOWLEDGE -> new PacketAcknowledge(ackId);
+            case INVOKE -> new PacketInvokeMethod(ackId, getBytes(buffer), getBytes(buffer));
+            default -> throw new IllegalArgumentException("Unknown packet type: " + type);
+        };
+    }
+
+    /**
+     * @param first first byte of a received packet
+     * @return true if the packet is in the legacy text format of {@link Serializer}, which only consists of Base64 characters and dots
+     */
+    public static boolean isLegacy(byte first) {
+        return (first >= 'A' && first <= 'Z') || (first >= 'a' && first <= 'z') || (first >= '0' && first <= '9') || first == '+' || first == '/';
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = getVarInt(buffer);
+
+        if (length < 0 || length > buffer.remaining())
+            throw new IllegalArgumentException("Invalid field length: " + length);
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /*
+     * Unsigned LEB128, seven bits per byte with the high bit marking a continuation
+     */
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte current = buffer.get();
+            value |= (current & 0x7F) << shift;
+
+            if ((current & 0x80) == 0)
+                return value;
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static int sizeOf(int value) {
+        int size = 1;
+
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+
+        return size;
+    }
+}
@@ -9,4 +9,22 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Async {
 
+    Mode value() default Mode.EXECUTOR;
+
+    enum Mode {
+        /**
+         * Submit every invocation as its own task to the executor of the observer
+         */
+        EXECUTOR,
+
+        /**
+         * Run every invocation on a new virtual thread, falls back to {@link #EXECUTOR} if virtual threads are unavailable
+         */
+        VIRTUAL,
+
+        /**
+         * Queue invocations per subscribed instance and run them one after another in publish order on the executor of the observer
+         */
+        SERIAL,
+    }
 }
@@ -0,0 +1,19 @@
+package me.micartey.jation.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limit the amount of invocations running at the same time per subscribed instance.
+ * The limit is shared by all observing methods of the instance, invocations exceeding it are skipped
+ * and reported to the listeners of the observer.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    int value();
+
+}
@@ -0,0 +1,21 @@
+package me.micartey.jation.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an event class whose events only matter in their latest state.
+ * {@link Async} subscribers and network adapters only receive the newest event per key,
+ * pending events with the same key are replaced in place instead of being queued.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Conflate {
+
+    /**
+     * @return name of a field or of a method without parameters providing the key, all events of the class share a single key if empty
+     */
+    String value() default "";
+}
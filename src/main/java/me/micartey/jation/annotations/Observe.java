@@ -11,5 +11,36 @@ public @interface Observe {
 
     int priority() default 0;
 
+    /**
+     * @return routing key of the events this method receives, see {@link Route}. Every event is received if empty
+     */
+    String key() default "";
+
+    /**
+     * @return milliseconds an invocation may take before the {@link me.micartey.jation.dispatch.Watchdog} reports it, no deadline if zero
+     */
+    long deadline() default 0;
+
+    /**
+     * @return what happens once an invocation exceeds its {@link #deadline()}
+     */
+    Overrun overrun() default Overrun.REPORT;
+
+    enum Overrun {
+        /**
+         * Only notify the listeners of the observer
+         */
+        REPORT,
+
+        /**
+         * Skip further invocations of the method as long as the overrunning invocation has not returned
+         */
+        SKIP,
+
+        /**
+         * Interrupt the thread running the invocation, which is the publishing thread for synchronous methods
+         */
+        INTERRUPT,
+    }
 }
 
@@ -0,0 +1,23 @@
+package me.micartey.jation.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the routing key of an event class.
+ * Keyed subscribers only receive events whose routing key equals their key, see {@link Observe#key()}.
+ * Subscribers without a key keep receiving every event.
+ * <br />
+ * Keys of any type are compared by their string form, an event keyed by the Integer 42 matches {@code @Observe(key = "42")}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Route {
+
+    /**
+     * @return name of a field or of a method without parameters providing the routing key
+     */
+    String value();
+}
@@ -0,0 +1,45 @@
+package me.micartey.jation.dispatch;
+
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/*
+ * Resolves key accessors of event classes, named by annotations such as Conflate or Route
+ */
+class Accessors {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /*
+     * Looks up an instance method without parameters or an instance field with the name, walking up the class hierarchy.
+     * The returned handle takes the event as Object and returns the key as Object
+     */
+    @SneakyThrows
+    static MethodHandle of(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (!method.getName().equals(name) || method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers()))
+                    continue;
+
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE);
+            }
+
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.getName().equals(name) || Modifier.isStatic(field.getModifiers()))
+                    continue;
+
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectGetter(field).asType(ACCESSOR_TYPE);
+            }
+        }
+
+        throw new IllegalArgumentException(type.getName() + ": Key accessor not found: " + name);
+    }
+}
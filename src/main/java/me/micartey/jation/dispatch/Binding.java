@@ -0,0 +1,109 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+import me.micartey.jation.annotations.Null;
+
+
+/**
+ * Precomputed mapping from the parameters of an observing method to the published arguments.
+ * The mapping only depends on the runtime classes of the arguments and can therefore be reused
+ * for every publish with the same argument signature.
+ * <br />
+ * Arguments are addressed as the published event at index 0 followed by the additional arguments,
+ * without ever concatenating them into a new array.
+ */
+public class Binding {
+
+    private static final int UNBOUND = -1;
+
+    private final Class<?>[] signature;
+    private final int[] indices;
+
+    private final String violation;
+
+    private Binding(Class<?>[] signature, int[] indices, String violation) {
+        this.signature = signature;
+        this.indices = indices;
+        this.violation = violation;
+    }
+
+    /**
+     * Every parameter is bound to the first unused argument which is an instance of its type.
+     * Parameters without a matching argument are bound to null if they are annotated with {@link Null}.
+     *
+     * @param metadata   observing method
+     * @param event      published event
+     * @param additional additional arguments
+     * @return binding for the signature of the arguments
+     */
+    public static Binding of(@NonNull HandlerMetadata metadata, @NonNull Object event, @NonNull Object[] additional) {
+        Class<?>[] signature = new Class<?>[additional.length + 1];
+        for (int index = 0; index < signature.length; index++) {
+            Object argument = argument(event, additional, index);
+            signature[index] = argument == null ? null : argument.getClass();
+        }
+
+        Class<?>[] parameters = metadata.getParameterTypes();
+        int[] indices = new int[parameters.length];
+        boolean[] used = new boolean[signature.length];
+
+        String violation = null;
+
+        for (int parameter = 0; parameter < parameters.length; parameter++) {
+            indices[parameter] = UNBOUND;
+
+            for (int argument = 0; argument < signature.length; argument++) {
+                if (used[argument] || signature[argument] == null || !parameters[parameter].isAssignableFrom(signature[argument]))
+                    continue;
+
+                used[argument] = true;
+                indices[parameter] = argument;
+                break;
+            }
+
+            if (indices[parameter] == UNBOUND && !metadata.getNullable()[parameter] && violation == null)
+                violation = metadata.getName() + ": Parameter is not allowed to be null: " + metadata.getParameterNames()[parameter];
+        }
+
+        return new Binding(signature, indices, violation);
+    }
+
+    /**
+     * @param event      published event
+     * @param additional additional arguments
+     * @return true if this binding has been computed for the runtime classes of the arguments
+     */
+    public boolean matches(Object event, Object[] additional) {
+        if (additional.length + 1 != this.signature.length)
+            return false;
+
+        for (int index = 0; index < this.signature.length; index++) {
+            Object argument = argument(event, additional, index);
+            Class<?> type = argument == null ? null : argument.getClass();
+
+            if (type != this.signature[index])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param event      published event
+     * @param additional additional arguments
+     * @param parameters target array with one slot per parameter of the observing method
+     * @throws IllegalStateException if a parameter is not annotated with {@link Null} but cannot be bound
+     */
+    public void bind(Object event, Object[] additional, Object[] parameters) {
+        if (this.violation != null)
+            throw new IllegalStateException(this.violation);
+
+        for (int index = 0; index < this.indices.length; index++) {
+            parameters[index] = this.indices[index] == UNBOUND ? null : argument(event, additional, this.indices[index]);
+        }
+    }
+
+    private static Object argument(Object event, Object[] additional, int index) {
+        return index == 0 ? event : additional[index - 1];
+    }
+}
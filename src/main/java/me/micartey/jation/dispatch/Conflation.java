@@ -0,0 +1,59 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import me.micartey.jation.annotations.Conflate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Optional;
+
+/**
+ * Resolves the key of events annotated with {@link Conflate}.
+ * The key accessor is looked up once per event class.
+ */
+public class Conflation {
+
+    /*
+     * Accessors may return null, which still is a valid key
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private static final ClassValue<Optional<MethodHandle>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            Conflate conflate = type.getAnnotation(Conflate.class);
+
+            if (conflate == null)
+                return Optional.empty();
+
+            if (conflate.value().isEmpty())
+                return Optional.of(MethodHandles.dropArguments(MethodHandles.constant(Object.class, type), 0, Object.class));
+
+            return Optional.of(Accessors.of(type, conflate.value()));
+        }
+    };
+
+    /**
+     * @param type event class
+     * @return true if the class is annotated with {@link Conflate}
+     */
+    public static boolean isConflatable(@NonNull Class<?> type) {
+        return ACCESSORS.get(type).isPresent();
+    }
+
+    /**
+     * @param event published event
+     * @return conflation key of the event, null if the event is not conflatable
+     */
+    @SneakyThrows
+    public static Object keyOf(@NonNull Object event) {
+        Optional<MethodHandle> accessor = ACCESSORS.get(event.getClass());
+
+        if (accessor.isEmpty())
+            return null;
+
+        Object key = (Object) accessor.get().invokeExact(event);
+        return key == null ? NULL_KEY : key;
+    }
+}
@@ -0,0 +1,222 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+import me.micartey.jation.annotations.Bulkhead;
+import me.micartey.jation.interfaces.JationEvent;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Immutable lookup table from an event class to the handlers observing it.
+ * Handlers are kept in descending {@link me.micartey.jation.annotations.Observe#priority()} order,
+ * handlers with equal priority keep their subscription order.
+ * <br />
+ * Keyed handlers are indexed by event class and routing key, a publish only reaches the handlers of its key.
+ * <br />
+ * Every modification returns a new table and only copies the handler arrays of the affected event classes and keys.
+ * Bulk modifications copy every affected array once for all instances.
+ */
+public class DispatchTable {
+
+    public static final DispatchTable EMPTY = new DispatchTable(Collections.emptyMap(), Collections.emptyMap());
+
+    private static final Handler[] NO_HANDLERS = new Handler[0];
+
+    private final Map<Class<?>, Handler[]> handlers;
+    private final Map<Class<?>, Map<Object, Handler[]>> keyed;
+
+    private DispatchTable(Map<Class<?>, Handler[]> handlers, Map<Class<?>, Map<Object, Handler[]>> keyed) {
+        this.handlers = handlers;
+        this.keyed = keyed;
+    }
+
+    /**
+     * @param event class of the published event
+     * @return handlers without a routing key in invocation order, never null
+     */
+    public Handler[] get(@NonNull Class<?> event) {
+        return this.handlers.getOrDefault(event, NO_HANDLERS);
+    }
+
+    /**
+     * @param event class of the published event
+     * @param key   routing key of the published event
+     * @return handlers subscribed with the routing key in invocation order, never null
+     */
+    public Handler[] get(@NonNull Class<?> event, Object key) {
+        if (key == null)
+            return NO_HANDLERS;
+
+        Map<Object, Handler[]> keyed = this.keyed.get(event);
+        return keyed == null ? NO_HANDLERS : keyed.getOrDefault(key, NO_HANDLERS);
+    }
+
+    /**
+     * Add many subscriptions at once. Every affected handler array is copied once instead of once per subscription,
+     * so subscribing N instances costs O(N) instead of O(N^2)
+     *
+     * @param owners subscribed instances or their {@link WeakSubscription}s in subscription order
+     * @param key    routing key of the subscriptions, null to use {@link me.micartey.jation.annotations.Observe#key()}
+     * @param lanes  serial lanes of the owners by identity, owners without serial handlers may be absent
+     * @return new table including the handlers of all instances
+     */
+    public DispatchTable with(@NonNull List<?> owners, Object key, @NonNull IdentityHashMap<Object, Executor> lanes) {
+        Map<Class<?>, List<Handler>> added = new HashMap<>();
+        Map<Class<?>, Map<Object, List<Handler>>> addedKeyed = new HashMap<>();
+
+        /*
+         * Instances of the same class share their metadata, event types are only collected once per method
+         */
+        Map<HandlerMetadata, Set<Class<?>>> events = new IdentityHashMap<>();
+
+        for (Object owner : owners) {
+            Semaphore bulkhead = bulkhead(owner);
+            Executor lane = lanes.get(owner);
+
+            for (HandlerMetadata method : getMethods(owner)) {
+                Handler handler = new Handler(owner, method, key, bulkhead, lane);
+
+                for (Class<?> event : events.computeIfAbsent(method, this::getEventTypes)) {
+                    if (handler.getKey() == null) {
+                        added.computeIfAbsent(event, type -> new ArrayList<>()).add(handler);
+                        continue;
+                    }
+
+                    addedKeyed.computeIfAbsent(event, type -> new HashMap<>())
+                            .computeIfAbsent(handler.getKey(), route -> new ArrayList<>())
+                            .add(handler);
+                }
+            }
+        }
+
+        Map<Class<?>, Handler[]> handlers = new HashMap<>(this.handlers);
+        added.forEach((event, list) -> handlers.put(event, merge(handlers.getOrDefault(event, NO_HANDLERS), list)));
+
+        Map<Class<?>, Map<Object, Handler[]>> keyed = new HashMap<>(this.keyed);
+        addedKeyed.forEach((event, lists) -> {
+            Map<Object, Handler[]> routes = new HashMap<>(keyed.getOrDefault(event, Collections.emptyMap()));
+            lists.forEach((route, list) -> routes.put(route, merge(routes.getOrDefault(route, NO_HANDLERS), list)));
+            keyed.put(event, routes);
+        });
+
+        return new DispatchTable(handlers, keyed);
+    }
+
+    /**
+     * Remove many subscriptions at once, every affected handler array is filtered once
+     *
+     * @param owners unsubscribed instances or their {@link WeakSubscription}s by identity,
+     *               mapped to the routing key they have been subscribed with or null
+     * @return new table without the handlers of all instances
+     */
+    public DispatchTable without(@NonNull IdentityHashMap<Object, Object> owners) {
+        Set<Class<?>> removed = new HashSet<>();
+        Map<Class<?>, Set<Object>> removedKeyed = new HashMap<>();
+
+        for (Map.Entry<Object, Object> owner : owners.entrySet()) {
+            for (HandlerMetadata method : getMethods(owner.getKey())) {
+                Object route = owner.getValue() != null ? owner.getValue() : method.getKey();
+
+                for (Class<?> event : getEventTypes(method)) {
+                    if (route == null)
+                        removed.add(event);
+                    else
+                        removedKeyed.computeIfAbsent(event, type -> new HashSet<>()).add(route);
+                }
+            }
+        }
+
+        Map<Class<?>, Handler[]> handlers = new HashMap<>(this.handlers);
+        for (Class<?> event : removed) {
+            remove(handlers, event, owners);
+        }
+
+        Map<Class<?>, Map<Object, Handler[]>> keyed = new HashMap<>(this.keyed);
+        removedKeyed.forEach((event, keys) -> {
+            if (!keyed.containsKey(event))
+                return;
+
+            Map<Object, Handler[]> routes = new HashMap<>(keyed.get(event));
+            for (Object route : keys) {
+                remove(routes, route, owners);
+            }
+
+            if (routes.isEmpty())
+                keyed.remove(event);
+            else
+                keyed.put(event, routes);
+        });
+
+        return new DispatchTable(handlers, keyed);
+    }
+
+    /*
+     * Owners are looked up by identity, the map has to be an IdentityHashMap
+     */
+    private static <K> void remove(Map<K, Handler[]> handlers, K key, Map<Object, Object> owners) {
+        Handler[] remaining = Arrays.stream(handlers.getOrDefault(key, NO_HANDLERS))
+                .filter(handler -> !owners.containsKey(handler.getOwner()))
+                .toArray(Handler[]::new);
+
+        if (remaining.length == 0) {
+            handlers.remove(key);
+            return;
+        }
+
+        handlers.put(key, remaining);
+    }
+
+    /*
+     * Merge added handlers behind the existing handlers of equal priority to keep the order stable
+     */
+    private static Handler[] merge(Handler[] handlers, List<Handler> added) {
+        added.sort(Comparator.comparingInt(Handler::getPriority).reversed());
+
+        Handler[] result = new Handler[handlers.length + added.size()];
+
+        for (int index = 0, existing = 0, next = 0; index < result.length; index++) {
+            if (next == added.size() || (existing < handlers.length && handlers[existing].getPriority() >= added.get(next).getPriority()))
+                result[index] = handlers[existing++];
+            else
+                result[index] = added.get(next++);
+        }
+
+        return result;
+    }
+
+    private static List<HandlerMetadata> getMethods(Object owner) {
+        return owner instanceof WeakSubscription subscription ? subscription.getMethods() : HandlerMetadata.of(owner.getClass());
+    }
+
+    /*
+     * One set of permits per subscription, shared by all of its handlers
+     */
+    private Semaphore bulkhead(Object instance) {
+        Object target = instance instanceof WeakSubscription subscription ? subscription.get() : instance;
+        Bulkhead bulkhead = target == null ? null : target.getClass().getAnnotation(Bulkhead.class);
+
+        if (bulkhead == null)
+            return null;
+
+        if (bulkhead.value() <= 0)
+            throw new IllegalArgumentException("Bulkhead must be positive: " + bulkhead.value());
+
+        return new Semaphore(bulkhead.value());
+    }
+
+    /*
+     * A method observes every event type that is declared as one of its parameters
+     */
+    private Set<Class<?>> getEventTypes(HandlerMetadata method) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+
+        for (Class<?> type : method.getParameterTypes()) {
+            if (JationEvent.class.isAssignableFrom(type))
+                types.add(type);
+        }
+
+        return types;
+    }
+}
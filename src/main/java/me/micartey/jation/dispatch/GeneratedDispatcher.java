@@ -0,0 +1,41 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implemented by classes generated by {@link me.micartey.jation.processor.ObserveProcessor}.
+ * A generated dispatcher describes all observing methods of one subscriber class and calls them directly,
+ * so subscribing instances of that class does not require any reflection.
+ */
+public interface GeneratedDispatcher {
+
+    /**
+     * Name suffix of the generated dispatcher, appended to the binary name of the subscriber class
+     */
+    String SUFFIX = "$JationDispatcher";
+
+    /**
+     * @return metadata of all observing methods declared by the subscriber class
+     */
+    List<HandlerMetadata> getHandlers();
+
+    /**
+     * @param type subscriber class
+     * @return generated dispatcher of the class, empty if the annotation processor did not generate one
+     */
+    static Optional<GeneratedDispatcher> find(@NonNull Class<?> type) {
+        try {
+            Class<?> dispatcher = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+
+            if (!GeneratedDispatcher.class.isAssignableFrom(dispatcher))
+                return Optional.empty();
+
+            return Optional.of((GeneratedDispatcher) dispatcher.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return Optional.empty();
+        }
+    }
+}
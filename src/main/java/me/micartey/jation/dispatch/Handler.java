@@ -0,0 +1,223 @@
+package me.micartey.jation.dispatch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import me.micartey.jation.annotations.Async;
+import me.micartey.jation.annotations.Observe;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single subscription of an {@link Observe} annotated method bound to the instance it was subscribed with.
+ * Handlers are created once on subscribe and only cache argument bindings afterwards.
+ */
+@Getter
+public class Handler {
+
+    private static final int MAX_BINDINGS = 16;
+
+    private static final ThreadLocal<Object[][]> PARAMETERS = ThreadLocal.withInitial(() -> new Object[0][]);
+
+    /*
+     * Either the subscribed instance itself or its weak subscription
+     */
+    @Getter(AccessLevel.NONE)
+    private final Object owner;
+
+    private final HandlerMetadata metadata;
+    private final Invoker invoker;
+
+    private final int priority;
+    private final Async.Mode execution;
+
+    /*
+     * Routing key of the events this handler receives, null if it receives every event
+     */
+    private final Object key;
+
+    /*
+     * Deadline in nanoseconds, zero for no deadline
+     */
+    private final long deadline;
+    private final Observe.Overrun overrun;
+
+    /*
+     * Permits shared by all handlers of the subscribed instance, null for no limit
+     */
+    private final Semaphore bulkhead;
+
+    /*
+     * Serial lane shared by all handlers of the subscribed instance, null unless one of them runs {@link Async.Mode#SERIAL}
+     */
+    private final Executor lane;
+
+    /*
+     * Invocations past their deadline which have not returned yet, only counted for {@link Observe.Overrun#SKIP}
+     */
+    @Getter(AccessLevel.NONE)
+    final AtomicInteger overrunning = new AtomicInteger();
+
+    @Getter(AccessLevel.NONE)
+    private volatile Binding[] bindings = new Binding[0];
+
+    /*
+     * Latest undelivered arguments of conflated events, by event class and conflation key
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, Map<Object, Object[]>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param instance subscribed instance or its {@link WeakSubscription}, which keeps the instance collectable
+     * @param metadata observing method
+     * @param key      routing key the instance has been subscribed with, overrides {@link me.micartey.jation.annotations.Observe#key()} if not null
+     * @param bulkhead permits shared by every handler of the instance, see {@link me.micartey.jation.annotations.Bulkhead}. Null for no limit
+     * @param lane     serial lane shared by every handler of the instance, null if none of them is {@link Async.Mode#SERIAL}
+     */
+    public Handler(@NonNull Object instance, @NonNull HandlerMetadata metadata, Object key, Semaphore bulkhead, Executor lane) {
+        this.owner = instance;
+        this.metadata = metadata;
+        this.invoker = instance instanceof WeakSubscription subscription ? metadata.createInvoker(subscription) : metadata.createInvoker(instance);
+
+        this.priority = metadata.getPriority();
+        this.execution = metadata.getExecution();
+        this.key = key != null ? key : metadata.getKey();
+
+        this.deadline = TimeUnit.MILLISECONDS.toNanos(metadata.getDeadline());
+        this.overrun = metadata.getOverrun();
+        this.bulkhead = bulkhead;
+        this.lane = lane;
+    }
+
+    /**
+     * @return subscribed instance, null if it has been weakly subscribed and already collected
+     */
+    public Object getInstance() {
+        return this.owner instanceof WeakSubscription subscription ? subscription.get() : this.owner;
+    }
+
+    /**
+     * @return subscribed instance or its {@link WeakSubscription}, identifies the subscription even after the instance has been collected
+     */
+    public Object getOwner() {
+        return this.owner;
+    }
+
+    /**
+     * @return observing method, resolved lazily for handlers of generated dispatchers
+     */
+    public Method getMethod() {
+        return this.metadata.getMethod();
+    }
+
+    /**
+     * @return true if the method is annotated with {@link Async}, {@link #getExecution()} is not null in that case
+     */
+    public boolean isAsync() {
+        return this.execution != null;
+    }
+
+    /**
+     * @return true if invocations have to pass the {@link Watchdog}, either due to a deadline or a bulkhead
+     */
+    public boolean isGuarded() {
+        return this.deadline > 0 || this.bulkhead != null;
+    }
+
+    /**
+     * Replace the arguments of an undelivered event with the same key, see {@link me.micartey.jation.annotations.Conflate}
+     *
+     * @param event     class of the published event
+     * @param key       conflation key of the published event
+     * @param arguments published event followed by the additional arguments
+     * @return true if no delivery has been pending and one has to be scheduled
+     */
+    public boolean conflate(@NonNull Class<?> event, @NonNull Object key, @NonNull Object[] arguments) {
+        return this.pending.computeIfAbsent(event, type -> new ConcurrentHashMap<>()).put(key, arguments) == null;
+    }
+
+    /**
+     * @param event class of the published event
+     * @param key   conflation key of the published event
+     * @return latest arguments passed to {@link #conflate(Class, Object, Object[])}, null if they have already been taken
+     */
+    public Object[] take(@NonNull Class<?> event, @NonNull Object key) {
+        Map<Object, Object[]> pending = this.pending.get(event);
+        return pending == null ? null : pending.remove(key);
+    }
+
+    /**
+     * Map the published arguments onto the parameters of the observing method.
+     * Bindings are cached per argument signature, so only the first publish of a signature computes it.
+     *
+     * @param event      published event
+     * @param additional additional arguments
+     * @param parameters target array with one slot per parameter of the observing method
+     */
+    public void bind(Object event, Object[] additional, Object[] parameters) {
+        Binding[] bindings = this.bindings;
+
+        for (Binding binding : bindings) {
+            if (binding.matches(event, additional)) {
+                binding.bind(event, additional, parameters);
+                return;
+            }
+        }
+
+        Binding binding = Binding.of(this.metadata, event, additional);
+
+        /*
+         * Publishing arguments of ever-changing types must not grow the cache indefinitely
+         */
+        if (bindings.length < MAX_BINDINGS) {
+            Binding[] extended = Arrays.copyOf(bindings, bindings.length + 1);
+            extended[bindings.length] = binding;
+            this.bindings = extended;
+        }
+
+        binding.bind(event, additional, parameters);
+    }
+
+    /**
+     * Bind the arguments and invoke the observing method without allocating in steady state
+     *
+     * @param event      published event
+     * @param additional additional arguments
+     * @throws Throwable anything thrown by the observing method
+     */
+    public void invoke(Object event, Object[] additional) throws Throwable {
+        Object[] parameters = parameters(this.metadata.getParameterTypes().length);
+
+        try {
+            this.bind(event, additional, parameters);
+            this.invoker.invoke(parameters);
+        } finally {
+            Arrays.fill(parameters, null);
+        }
+    }
+
+    /*
+     * Parameter arrays are reused per thread and length. Invokers spread the array before the observing method runs,
+     * a handler publishing another event from within may therefore reuse the same array
+     */
+    private static Object[] parameters(int length) {
+        Object[][] parameters = PARAMETERS.get();
+
+        if (length >= parameters.length) {
+            parameters = Arrays.copyOf(parameters, length + 1);
+            PARAMETERS.set(parameters);
+        }
+
+        if (parameters[length] == null)
+            parameters[length] = new Object[length];
+
+        return parameters[length];
+    }
+}
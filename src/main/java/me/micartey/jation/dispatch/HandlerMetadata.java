@@ -0,0 +1,174 @@
+package me.micartey.jation.dispatch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import me.micartey.jation.annotations.Async;
+import me.micartey.jation.annotations.Null;
+import me.micartey.jation.annotations.Observe;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Instance independent description of an {@link Observe} annotated method.
+ * Metadata is either provided by a {@link GeneratedDispatcher} or read reflectively, once per class.
+ */
+@Getter
+public class HandlerMetadata {
+
+    private static final ClassValue<List<HandlerMetadata>> METADATA = new ClassValue<>() {
+        @Override
+        protected List<HandlerMetadata> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(GeneratedDispatcher.find(type)
+                    .map(GeneratedDispatcher::getHandlers)
+                    .orElseGet(() -> Arrays.stream(type.getDeclaredMethods())
+                            .filter(method -> method.isAnnotationPresent(Observe.class))
+                            .map(HandlerMetadata::of)
+                            .collect(Collectors.toList())));
+        }
+    };
+
+    private final Class<?> declaringClass;
+    private final String name;
+
+    private final Class<?>[] parameterTypes;
+    private final String[] parameterNames;
+    private final boolean[] nullable;
+
+    private final int priority;
+    private final Async.Mode execution;
+    private final String key;
+
+    private final long deadline;
+    private final Observe.Overrun overrun;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<Object, Invoker> invokerFactory;
+
+    @Getter(AccessLevel.NONE)
+    private final Invoker.Unbound unboundInvoker;
+
+    @Getter(AccessLevel.NONE)
+    private volatile Method method;
+
+    /**
+     * @param declaringClass class declaring the observing method
+     * @param name           name of the observing method
+     * @param parameterTypes parameter types in declaration order
+     * @param parameterNames parameter names in declaration order
+     * @param nullable       whether a parameter is annotated with {@link Null}
+     * @param priority       {@link Observe#priority()}
+     * @param execution      {@link Async#value()}, null if the method is not annotated with {@link Async}
+     * @param key            {@link Observe#key()}, null if the method receives every event
+     * @param deadline       {@link Observe#deadline()} in milliseconds, zero for no deadline
+     * @param overrun        {@link Observe#overrun()}
+     * @param invokerFactory creates an invoker for a subscribed instance
+     * @param unboundInvoker invoker taking the instance on every invocation, null to use the factory for weak subscriptions
+     */
+    public HandlerMetadata(@NonNull Class<?> declaringClass, @NonNull String name, @NonNull Class<?>[] parameterTypes, @NonNull String[] parameterNames,
+                           @NonNull boolean[] nullable, int priority, Async.Mode execution, String key, long deadline, @NonNull Observe.Overrun overrun,
+                           @NonNull Function<Object, Invoker> invokerFactory, Invoker.Unbound unboundInvoker) {
+        this.declaringClass = declaringClass;
+        this.name = name;
+        this.parameterTypes = parameterTypes;
+        this.parameterNames = parameterNames;
+        this.nullable = nullable;
+        this.priority = priority;
+        this.execution = execution;
+        this.key = key;
+        this.deadline = deadline;
+        this.overrun = overrun;
+        this.invokerFactory = invokerFactory;
+        this.unboundInvoker = unboundInvoker;
+    }
+
+    /**
+     * @param method observing method
+     * @return metadata read from the method and its annotations
+     */
+    public static HandlerMetadata of(@NonNull Method method) {
+        Parameter[] parameters = method.getParameters();
+
+        boolean[] nullable = new boolean[parameters.length];
+        for (int index = 0; index < parameters.length; index++) {
+            nullable[index] = parameters[index].isAnnotationPresent(Null.class);
+        }
+
+        Observe observe = method.getAnnotation(Observe.class);
+
+        HandlerMetadata metadata = new HandlerMetadata(
+                method.getDeclaringClass(),
+                method.getName(),
+                method.getParameterTypes(),
+                Arrays.stream(parameters).map(Parameter::getName).toArray(String[]::new),
+                nullable,
+                observe.priority(),
+                method.isAnnotationPresent(Async.class) ? method.getAnnotation(Async.class).value() : null,
+                observe.key().isEmpty() ? null : observe.key(),
+                observe.deadline(),
+                observe.overrun(),
+                Invoker.factory(method),
+                Invoker.unbound(method)
+        );
+
+        metadata.method = method;
+        return metadata;
+    }
+
+    /**
+     * @param type class of a subscribed instance
+     * @return metadata of all observing methods declared by the class, cached per class
+     */
+    public static List<HandlerMetadata> of(@NonNull Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * @param instance subscribed instance
+     * @return invoker calling the observing method on the instance
+     */
+    public Invoker createInvoker(@NonNull Object instance) {
+        return this.invokerFactory.apply(instance);
+    }
+
+    /**
+     * @param reference weakly referenced instance
+     * @return invoker calling the observing method as long as the instance has not been collected, a no-op afterwards
+     */
+    public Invoker createInvoker(@NonNull WeakReference<?> reference) {
+        Invoker.Unbound unbound = this.unboundInvoker;
+
+        return arguments -> {
+            Object instance = reference.get();
+
+            if (instance == null)
+                return;
+
+            if (unbound != null)
+                unbound.invoke(instance, arguments);
+            else
+                this.createInvoker(instance).invoke(arguments);
+        };
+    }
+
+    /**
+     * Generated dispatchers do not need reflection, the method is only resolved once it is actually requested
+     *
+     * @return observing method
+     */
+    @SneakyThrows
+    public Method getMethod() {
+        if (this.method == null)
+            this.method = this.declaringClass.getDeclaredMethod(this.name, this.parameterTypes);
+
+        return this.method;
+    }
+}
@@ -0,0 +1,116 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Direct call site for an observing method which is compiled once on subscribe.
+ * Invocations neither perform access checks nor go through {@link Method#invoke(Object, Object...)}.
+ * The method is called by a class spun by the {@link java.lang.invoke.LambdaMetafactory}, which the JIT can inline.
+ * Methods it can't be spun for are invoked through a method handle instead.
+ */
+@FunctionalInterface
+public interface Invoker {
+
+    /**
+     * @param arguments parameters in declaration order of the observing method
+     * @throws Throwable whatever the observing method throws, not wrapped
+     */
+    void invoke(Object[] arguments) throws Throwable;
+
+    /**
+     * Bind the method to its instance and adapt it to the {@link Invoker} shape
+     *
+     * @param instance instance to invoke the method on, ignored for static methods
+     * @param method   method to be invoked
+     * @return invoker calling the method
+     */
+    static Invoker of(@NonNull Object instance, @NonNull Method method) {
+        return factory(method).apply(instance);
+    }
+
+    /**
+     * Unreflect the method once, so creating an invoker for another instance only binds the receiver
+     *
+     * @param method method to be invoked
+     * @return factory creating an invoker per instance
+     */
+    @SneakyThrows
+    static Function<Object, Invoker> factory(@NonNull Method method) {
+        Unbound unbound = LambdaInvokers.unbound(method);
+
+        if (unbound != null)
+            return instance -> arguments -> unbound.invoke(instance, arguments);
+
+        method.setAccessible(true);
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            Invoker invoker = of(handle, method.getParameterCount());
+            return instance -> invoker;
+        }
+
+        return instance -> of(handle.bindTo(instance), method.getParameterCount());
+    }
+
+    /**
+     * Unreflect the method without binding a receiver, for subscriptions which must not hold on to their instance
+     *
+     * @param method method to be invoked
+     * @return invoker taking the instance on every invocation
+     */
+    @SneakyThrows
+    static Unbound unbound(@NonNull Method method) {
+        Unbound unbound = LambdaInvokers.unbound(method);
+
+        if (unbound != null)
+            return unbound;
+
+        method.setAccessible(true);
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+
+        if (Modifier.isStatic(method.getModifiers()))
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+        MethodHandle invoker = handle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+
+        return (instance, arguments) -> {
+            invoker.invokeExact(instance, arguments);
+        };
+    }
+
+    private static Invoker of(MethodHandle handle, int parameters) {
+        MethodHandle invoker = handle
+                .asSpreader(Object[].class, parameters)
+                .asType(MethodType.methodType(void.class, Object[].class));
+
+        return arguments -> {
+            invoker.invokeExact(arguments);
+        };
+    }
+
+    /**
+     * {@link Invoker} which is not bound to an instance
+     */
+    @FunctionalInterface
+    interface Unbound {
+
+        /**
+         * @param instance  instance to invoke the method on, ignored for static methods
+         * @param arguments parameters in declaration order of the observing method
+         * @throws Throwable whatever the observing method throws, not wrapped
+         */
+        void invoke(Object instance, Object[] arguments) throws Throwable;
+    }
+}
@@ -0,0 +1,96 @@
+package me.micartey.jation.dispatch;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/*
+ * Spins a class per observing method through the LambdaMetafactory. The class calls the method with a plain invokevirtual,
+ * so the JIT sees a constant call target and can inline the observing method, unlike a method handle held in a field.
+ * The receiver is passed as first argument, arguments are cast and unboxed by the generated class
+ */
+class LambdaInvokers {
+
+    static final int MAX_ARITY = 8;
+
+    private static final Class<?>[] SHAPES = {
+            Call0.class, Call1.class, Call2.class, Call3.class, Call4.class, Call5.class, Call6.class, Call7.class, Call8.class
+    };
+
+    /*
+     * Returns null if the method has too many parameters or its class can't be looked into with full privileges,
+     * e.g. if it has been loaded by another class loader or lives in a module which is not open to the library
+     */
+    static Invoker.Unbound unbound(Method method) {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        int arity = method.getParameterCount() + (isStatic ? 0 : 1);
+
+        if (arity > MAX_ARITY)
+            return null;
+
+        Object call;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(method);
+
+            call = LambdaMetafactory.metafactory(
+                    lookup,
+                    "call",
+                    MethodType.methodType(SHAPES[arity]),
+                    MethodType.genericMethodType(arity).changeReturnType(void.class),
+                    target,
+                    target.type().wrap().changeReturnType(void.class)
+            ).getTarget().invoke();
+        } catch (Throwable ex) {
+            return null;
+        }
+
+        return isStatic ? spreadStatic(call, arity) : spread(call, arity);
+    }
+
+    private static Invoker.Unbound spread(Object call, int arity) {
+        return switch (arity) {
+            case 1 -> (instance, arguments) -> ((Call1) call).call(instance);
+            case 2 -> (instance, arguments) -> ((Call2) call).call(instance, arguments[0]);
+            case 3 -> (instance, arguments) -> ((Call3) call).call(instance, arguments[0], arguments[1]);
+            case 4 -> (instance, arguments) -> ((Call4) call).call(instance, arguments[0], arguments[1], arguments[2]);
+            case 5 -> (instance, arguments) -> ((Call5) call).call(instance, arguments[0], arguments[1], arguments[2], arguments[3]);
+            case 6 -> (instance, arguments) -> ((Call6) call).call(instance, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);
+            case 7 -> (instance, arguments) -> ((Call7) call).call(instance, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5]);
+            case 8 -> (instance, arguments) -> ((Call8) call).call(instance, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6]);
+            default -> throw new IllegalArgumentException("Unsupported arity: " + arity);
+        };
+    }
+
+    private static Invoker.Unbound spreadStatic(Object call, int arity) {
+        return switch (arity) {
+            case 0 -> (instance, arguments) -> ((Call0) call).call();
+            case 1 -> (instance, arguments) -> ((Call1) call).call(arguments[0]);
+            case 2 -> (instance, arguments) -> ((Call2) call).call(arguments[0], arguments[1]);
+            case 3 -> (instance, arguments) -> ((Call3) call).call(arguments[0], arguments[1], arguments[2]);
+            case 4 -> (instance, arguments) -> ((Call4) call).call(arguments[0], arguments[1], arguments[2], arguments[3]);
+            case 5 -> (instance, arguments) -> ((Call5) call).call(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);
+            case 6 -> (instance, arguments) -> ((Call6) call).call(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5]);
+            case 7 -> (instance, arguments) -> ((Call7) call).call(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6]);
+            case 8 -> (instance, arguments) -> ((Call8) call).call(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6], arguments[7]);
+            default -> throw new IllegalArgumentException("Unsupported arity: " + arity);
+        };
+    }
+
+    /*
+     * Shapes implemented by the generated classes, public so classes of other packages can implement them
+     */
+    public interface Call0 { void call() throws Throwable; }
+    public interface Call1 { void call(Object a0) throws Throwable; }
+    public interface Call2 { void call(Object a0, Object a1) throws Throwable; }
+    public interface Call3 { void call(Object a0, Object a1, Object a2) throws Throwable; }
+    public interface Call4 { void call(Object a0, Object a1, Object a2, Object a3) throws Throwable; }
+    public interface Call5 { void call(Object a0, Object a1, Object a2, Object a3, Object a4) throws Throwable; }
+    public interface Call6 { void call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5) throws Throwable; }
+    public interface Call7 { void call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6) throws Throwable; }
+    public interface Call8 { void call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7) throws Throwable; }
+}
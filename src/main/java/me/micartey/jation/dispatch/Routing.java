@@ -0,0 +1,51 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import me.micartey.jation.annotations.Route;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Optional;
+
+/**
+ * Resolves the routing key of events annotated with {@link Route}.
+ * The key accessor is looked up once per event class.
+ * <br />
+ * Keys are compared by their string form, so they match the String keys of {@link me.micartey.jation.annotations.Observe#key()}.
+ */
+public class Routing {
+
+    private static final ClassValue<Optional<MethodHandle>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            Route route = type.getAnnotation(Route.class);
+
+            if (route == null)
+                return Optional.empty();
+
+            return Optional.of(Accessors.of(type, route.value()));
+        }
+    };
+
+    /**
+     * @param event published event
+     * @return routing key of the event in its string form, null if the event is not annotated with {@link Route} or has no key
+     */
+    @SneakyThrows
+    public static String keyOf(@NonNull Object event) {
+        Optional<MethodHandle> accessor = ACCESSORS.get(event.getClass());
+
+        if (accessor.isEmpty())
+            return null;
+
+        return normalize((Object) accessor.get().invokeExact(event));
+    }
+
+    /**
+     * @param key routing key of a subscription or an event, may be null
+     * @return string form the key is compared by, null if the key is null
+     */
+    public static String normalize(Object key) {
+        return key == null ? null : key.toString();
+    }
+}
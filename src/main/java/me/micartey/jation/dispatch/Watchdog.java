@@ -0,0 +1,181 @@
+package me.micartey.jation.dispatch;
+
+import lombok.NonNull;
+import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.interfaces.HandlerListener;
+import me.micartey.jation.interfaces.JationEvent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Enforces {@link Observe#deadline()} and {@link me.micartey.jation.annotations.Bulkhead} limits of guarded handlers.
+ * Only invocations with a deadline are tracked. A daemon thread checks them every {@link #RESOLUTION} milliseconds
+ * and only runs while there are any.
+ */
+public class Watchdog {
+
+    public static final long RESOLUTION = 10;
+
+    private final List<HandlerListener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<Invocation> running = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean watching = new AtomicBoolean();
+
+    public void addListener(@NonNull HandlerListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(@NonNull HandlerListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * @param handler guarded handler, see {@link Handler#isGuarded()}
+     * @param event   event the handler is about to be invoked with
+     * @return invocation to pass to {@link #exit(Invocation)} once the handler returned, null if the handler must not be invoked
+     */
+    public Invocation enter(@NonNull Handler handler, @NonNull JationEvent<?> event) {
+        if (handler.getOverrun() == Observe.Overrun.SKIP && handler.overrunning.get() > 0) {
+            this.notify(listener -> listener.onSkipped(handler, event));
+            return null;
+        }
+
+        if (handler.getBulkhead() != null && !handler.getBulkhead().tryAcquire()) {
+            this.notify(listener -> listener.onRejected(handler, event));
+            return null;
+        }
+
+        Invocation invocation = new Invocation(handler, event, Thread.currentThread(), System.nanoTime());
+
+        if (handler.getDeadline() > 0) {
+            this.running.add(invocation);
+            this.watch();
+        }
+
+        return invocation;
+    }
+
+    /**
+     * @param invocation invocation returned by {@link #enter(Handler, JationEvent)}
+     */
+    public void exit(@NonNull Invocation invocation) {
+        this.running.remove(invocation);
+        invocation.finish();
+
+        if (invocation.handler.getBulkhead() != null)
+            invocation.handler.getBulkhead().release();
+    }
+
+    private void watch() {
+        if (!this.watching.compareAndSet(false, true))
+            return;
+
+        Thread thread = new Thread(this::run, "jation-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                Thread.sleep(RESOLUTION);
+            } catch (InterruptedException ex) {
+                this.watching.set(false);
+                return;
+            }
+
+            long now = System.nanoTime();
+
+            for (Invocation invocation : this.running) {
+                long elapsed = now - invocation.start;
+
+                if (elapsed > invocation.handler.getDeadline() && invocation.overrun()) {
+                    this.running.remove(invocation);
+                    this.notify(listener -> listener.onDeadlineExceeded(invocation.handler, invocation.event, elapsed));
+                }
+            }
+
+            /*
+             * Stop once idle. An invocation added in between either sees the flag cleared and starts a new thread or is picked up here
+             */
+            if (this.running.isEmpty()) {
+                this.watching.set(false);
+
+                if (this.running.isEmpty() || !this.watching.compareAndSet(false, true))
+                    return;
+            }
+        }
+    }
+
+    /*
+     * A failing listener must neither stop the watchdog nor the handler it reports on
+     */
+    private void notify(Consumer<HandlerListener> notification) {
+        for (HandlerListener listener : this.listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException ex) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+            }
+        }
+    }
+
+    /**
+     * A single invocation of a guarded handler
+     */
+    public static class Invocation {
+
+        private final Handler handler;
+        private final JationEvent<?> event;
+        private final Thread thread;
+        private final long start;
+
+        private boolean overrun;
+        private boolean finished;
+
+        private Invocation(Handler handler, JationEvent<?> event, Thread thread, long start) {
+            this.handler = handler;
+            this.event = event;
+            this.thread = thread;
+            this.start = start;
+        }
+
+        /*
+         * Synchronized with finish, so the thread is never interrupted once it has moved on to something else
+         */
+        private synchronized boolean overrun() {
+            if (this.finished || this.overrun)
+                return false;
+
+            this.overrun = true;
+
+            switch (this.handler.getOverrun()) {
+                case SKIP -> this.handler.overrunning.incrementAndGet();
+                case INTERRUPT -> this.thread.interrupt();
+            }
+
+            return true;
+        }
+
+        private synchronized void finish() {
+            this.finished = true;
+
+            if (!this.overrun)
+                return;
+
+            switch (this.handler.getOverrun()) {
+                case SKIP -> this.handler.overrunning.decrementAndGet();
+
+                /*
+                 * Clear an interrupt the handler did not consume, it was only meant for this invocation
+                 */
+                case INTERRUPT -> Thread.interrupted();
+            }
+        }
+    }
+}
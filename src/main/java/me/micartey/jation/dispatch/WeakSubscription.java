@@ -0,0 +1,57 @@
+package me.micartey.jation.dispatch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * Registry entry of an instance which is only weakly referenced by the observer.
+ * Once the instance has been collected, the entry is enqueued and lets the observer purge its handlers
+ * without scanning the registry.
+ * <br />
+ * Entries are equal if they refer to the same instance, which allows looking them up by a temporary entry.
+ */
+@Getter
+public class WeakSubscription extends WeakReference<Object> {
+
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+
+    private final Object key;
+    private final List<HandlerMetadata> methods;
+
+    /**
+     * @param instance subscribed instance
+     * @param key      routing key of the subscription, null if it has been subscribed without one
+     * @param methods  observing methods of the instance
+     * @param queue    queue to enqueue the entry once the instance has been collected, null for temporary entries
+     */
+    public WeakSubscription(@NonNull Object instance, Object key, @NonNull List<HandlerMetadata> methods, ReferenceQueue<Object> queue) {
+        super(instance, queue);
+
+        this.hash = System.identityHashCode(instance);
+        this.key = key;
+        this.methods = methods;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+
+        if (!(other instanceof WeakSubscription subscription))
+            return false;
+
+        Object instance = this.get();
+        return instance != null && instance == subscription.get();
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
@@ -0,0 +1,33 @@
+package me.micartey.jation.executor;
+
+/**
+ * Policy of a {@link BoundedQueue} once its capacity is exhausted
+ */
+public enum Backpressure {
+
+    /**
+     * Block the publishing thread until a slot becomes available
+     */
+    BLOCK,
+
+    /**
+     * Discard the invocation which is about to be submitted
+     */
+    DROP_NEWEST,
+
+    /**
+     * Discard the oldest invocation which has not been started yet
+     */
+    DROP_OLDEST,
+
+    /**
+     * Run the invocation synchronously on the publishing thread.
+     * Invocations of {@link me.micartey.jation.annotations.Async.Mode#SERIAL} handlers block like {@link #BLOCK} instead, so they stay in order
+     */
+    CALLER_RUNS,
+
+    /**
+     * Throw a {@link java.util.concurrent.RejectedExecutionException} on the publishing thread
+     */
+    FAIL_FAST,
+}
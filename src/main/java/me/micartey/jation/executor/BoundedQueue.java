@@ -0,0 +1,234 @@
+package me.micartey.jation.executor;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for asynchronous invocations.
+ * At most {@link #getCapacity()} invocations are pending or running at the same time,
+ * any further submission is handled according to the {@link Backpressure} policy.
+ * <br />
+ * The queue does not run anything itself, admitted invocations are handed to the executor they were submitted with.
+ * This keeps the bound intact for every {@link me.micartey.jation.annotations.Async.Mode}.
+ */
+public class BoundedQueue {
+
+    @Getter private final int capacity;
+    @Getter private final Backpressure backpressure;
+
+    private final Semaphore permits;
+
+    /*
+     * Admitted tasks in submission order, only kept for DROP_OLDEST and guarded by itself.
+     * Finished tasks are not removed one by one, they are trimmed from the head and swept once they outnumber the capacity
+     */
+    private final Deque<Task> pending = new ArrayDeque<>();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+
+    public BoundedQueue(int capacity, @NonNull Backpressure backpressure) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+
+        this.capacity = capacity;
+        this.backpressure = backpressure;
+        this.permits = new Semaphore(capacity);
+    }
+
+    /**
+     * @param executor executor to run the invocation on once it has been admitted
+     * @param runnable invocation
+     * @throws RejectedExecutionException if the queue is full and the policy is {@link Backpressure#FAIL_FAST}
+     */
+    public void submit(@NonNull Executor executor, @NonNull Runnable runnable) {
+        this.submit(executor, runnable, () -> {});
+    }
+
+    /**
+     * @param executor  executor to run the invocation on once it has been admitted
+     * @param runnable  invocation
+     * @param onDiscard called instead of the invocation if it is dropped, evicted or rejected
+     * @throws RejectedExecutionException if the queue is full and the policy is {@link Backpressure#FAIL_FAST}
+     */
+    @SneakyThrows
+    public void submit(@NonNull Executor executor, @NonNull Runnable runnable, @NonNull Runnable onDiscard) {
+        if (!this.permits.tryAcquire()) {
+            switch (this.backpressure) {
+                case BLOCK -> this.permits.acquire();
+
+                case DROP_NEWEST -> {
+                    this.dropped.increment();
+                    onDiscard.run();
+                    return;
+                }
+
+                case DROP_OLDEST -> {
+                    if (!this.evict()) {
+                        this.dropped.increment();
+                        onDiscard.run();
+                        return;
+                    }
+                }
+
+                /*
+                 * Running on the publishing thread would overtake the invocations still waiting in a serial lane
+                 */
+                case CALLER_RUNS -> {
+                    if (executor instanceof SerialExecutor) {
+                        this.permits.acquire();
+                        break;
+                    }
+
+                    this.callerRuns.increment();
+                    runnable.run();
+                    return;
+                }
+
+                case FAIL_FAST -> {
+                    this.rejected.increment();
+                    onDiscard.run();
+                    throw new RejectedExecutionException("Queue capacity of " + this.capacity + " exhausted");
+                }
+            }
+        }
+
+        Task task = new Task(runnable, onDiscard);
+
+        if (this.backpressure == Backpressure.DROP_OLDEST)
+            this.track(task);
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            if (task.cancel())
+                this.permits.release();
+
+            throw ex;
+        }
+    }
+
+    /**
+     * @return amount of admitted invocations which are either waiting or running
+     */
+    public int getDepth() {
+        return this.capacity - this.permits.availablePermits();
+    }
+
+    /**
+     * @return amount of invocations discarded by {@link Backpressure#DROP_NEWEST} or {@link Backpressure#DROP_OLDEST}
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return amount of invocations rejected by {@link Backpressure#FAIL_FAST}
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * @return amount of invocations run on the publishing thread by {@link Backpressure#CALLER_RUNS}
+     */
+    public long getCallerRuns() {
+        return this.callerRuns.sum();
+    }
+
+    /*
+     * Amortized constant time, a sweep only happens after at least capacity tasks have finished
+     */
+    private void track(Task task) {
+        synchronized (this.pending) {
+            Task head;
+            while ((head = this.pending.peekFirst()) != null && !head.isPending()) {
+                this.pending.pollFirst();
+            }
+
+            if (this.pending.size() >= 2 * this.capacity)
+                this.pending.removeIf(queued -> !queued.isPending());
+
+            this.pending.addLast(task);
+        }
+    }
+
+    /*
+     * Cancel the oldest invocation that has not been started and take over its permit.
+     * Returns false if every admitted invocation is already running
+     */
+    private boolean evict() {
+        synchronized (this.pending) {
+            Task oldest;
+            while ((oldest = this.pending.pollFirst()) != null) {
+                if (!oldest.cancel())
+                    continue;
+
+                this.dropped.increment();
+                return true;
+            }
+        }
+
+        return this.permits.tryAcquire();
+    }
+
+    private class Task implements Runnable {
+
+        private static final int PENDING = 0, RUNNING = 1, CANCELLED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        /*
+         * Cleared on cancellation, the executor may hold on to the task long after it has been evicted.
+         * Only accessed by whoever won the state transition, so plain fields suffice
+         */
+        private Runnable runnable;
+        private Runnable onDiscard;
+
+        private Task(Runnable runnable, Runnable onDiscard) {
+            this.runnable = runnable;
+            this.onDiscard = onDiscard;
+        }
+
+        private boolean isPending() {
+            return this.state.get() == PENDING;
+        }
+
+        /*
+         * A cancelled task keeps its permit, it is handed over to whoever cancelled it
+         */
+        private boolean cancel() {
+            if (!this.state.compareAndSet(PENDING, CANCELLED))
+                return false;
+
+            Runnable onDiscard = this.onDiscard;
+            this.runnable = null;
+            this.onDiscard = null;
+
+            onDiscard.run();
+            return true;
+        }
+
+        @Override
+        public void run() {
+            if (!this.state.compareAndSet(PENDING, RUNNING))
+                return;
+
+            try {
+                this.runnable.run();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package me.micartey.jation.executor;
+
+import lombok.Getter;
+import lombok.NonNull;
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.interfaces.JationEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Disruptor-style dispatcher for high-rate events.
+ * Publishers claim a sequence on a preallocated ring, write their event into its slot and mark the slot as published.
+ * A single consumer thread processes every published slot in batches and hands it to {@link JationObserver#publish(JationEvent, Object...)},
+ * so priorities, hooks and adapters of the observer apply unchanged.
+ * <br />
+ * The consumer waits for new events according to the {@link WaitStrategy}. Publishers spin shortly while the ring is full
+ * and block afterwards until the consumer releases slots, so waiting publishers don't compete with the consumer for the CPU.
+ * <br />
+ * Every event of a publish that returned is processed before {@link #close()} returns, publishing afterwards is rejected.
+ */
+public class RingBufferDispatcher implements AutoCloseable {
+
+    private static final Object[] NO_ADDITIONAL = new Object[0];
+    private static final int SPIN_TRIES = 100;
+
+    private final JationObserver observer;
+    private final WaitStrategy waitStrategy;
+
+    private final int mask;
+    private final JationEvent<?>[] events;
+    private final Object[][] additional;
+
+    /*
+     * Holds the sequence which has last been published into a slot, -1 if it has never been published
+     */
+    private final AtomicLongArray published;
+
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong consumed = new AtomicLong(-1);
+
+    @Getter private final int capacity;
+
+    private final Thread consumer;
+
+    private volatile boolean closed, terminated;
+
+    /*
+     * Publishers waiting for the consumer to release a slot. The consumer only takes the lock if there are any
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = this.lock.newCondition();
+
+    public RingBufferDispatcher(@NonNull JationObserver observer, int capacity, @NonNull WaitStrategy waitStrategy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+
+        this.observer = observer;
+        this.waitStrategy = waitStrategy;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+
+        this.events = new JationEvent<?>[capacity];
+        this.additional = new Object[capacity][];
+        this.published = new AtomicLongArray(capacity);
+
+        for (int index = 0; index < capacity; index++) {
+            this.published.set(index, -1);
+        }
+
+        this.consumer = new Thread(this::consume, "jation-ring-buffer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Claim the next slot and publish the event into it.
+     * Blocks while the ring is full.
+     *
+     * @param event      event to be published
+     * @param additional additional parameters
+     * @return sequence of the event
+     * @throws IllegalStateException if the dispatcher has been closed
+     */
+    public long publish(@NonNull JationEvent<?> event, Object... additional) {
+        if (this.closed)
+            throw new IllegalStateException("Dispatcher has been closed");
+
+        long sequence = this.claimed.incrementAndGet();
+
+        if (!this.awaitSlot(sequence))
+            throw new IllegalStateException("Dispatcher has been closed");
+
+        int index = (int) sequence & this.mask;
+
+        /*
+         * Closed after claiming the slot. The draining consumer might already wait for the sequence, so it is published without an event
+         */
+        if (this.closed) {
+            this.published.lazySet(index, sequence);
+            throw new IllegalStateException("Dispatcher has been closed");
+        }
+
+        this.events[index] = event;
+        this.additional[index] = additional.length == 0 ? NO_ADDITIONAL : additional;
+        this.published.lazySet(index, sequence);
+
+        return sequence;
+    }
+
+    /**
+     * @return amount of claimed but not yet processed events
+     */
+    public long getBacklog() {
+        return this.claimed.get() - this.consumed.get();
+    }
+
+    /**
+     * Stop accepting events, process all events that have been published so far and stop the consumer thread.
+     * An interrupt while waiting for the consumer is kept for the caller
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+
+        boolean interrupted = false;
+
+        while (this.consumer.isAlive()) {
+            try {
+                this.consumer.join();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /*
+     * Wait until the consumer has released the slot from the previous lap. Returns false if the consumer stopped before
+     */
+    private boolean awaitSlot(long sequence) {
+        for (int attempt = 0; attempt < SPIN_TRIES; attempt++) {
+            if (sequence - this.consumed.get() <= this.capacity)
+                return true;
+
+            Thread.onSpinWait();
+        }
+
+        /*
+         * Announce the waiter before checking again, either this check sees the released slot or the consumer sees the waiter
+         */
+        this.waiters.incrementAndGet();
+        this.lock.lock();
+
+        try {
+            while (sequence - this.consumed.get() > this.capacity) {
+                if (this.terminated)
+                    return false;
+
+                this.released.awaitUninterruptibly();
+            }
+
+            return true;
+        } finally {
+            this.lock.unlock();
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    private void signal() {
+        this.lock.lock();
+
+        try {
+            this.released.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+     * Publishers observe the closed flag after claiming their sequence, so once the consumer has seen it
+     * every sequence it reads afterwards is published either with or without an event
+     */
+    private void consume() {
+        try {
+            this.drain();
+        } finally {
+            this.terminated = true;
+            this.signal();
+        }
+    }
+
+    private void drain() {
+        long next = 0;
+        int attempt = 0;
+
+        while (!this.closed || next <= this.claimed.get()) {
+            long available = next - 1;
+            while (available - next + 1 < this.capacity && this.published.get((int) (available + 1) & this.mask) == available + 1) {
+                available++;
+            }
+
+            if (available < next) {
+                this.waitStrategy.idle(attempt++);
+                continue;
+            }
+
+            /*
+             * Process the whole batch before releasing the slots to the publishers
+             */
+            for (long sequence = next; sequence <= available; sequence++) {
+                this.process((int) sequence & this.mask);
+            }
+
+            this.consumed.set(available);
+            next = available + 1;
+            attempt = 0;
+
+            if (this.waiters.get() > 0)
+                this.signal();
+        }
+    }
+
+    private void process(int index) {
+        JationEvent<?> event = this.events[index];
+        Object[] additional = this.additional[index];
+
+        this.events[index] = null;
+        this.additional[index] = null;
+
+        /*
+         * Slot claimed by a publish which has been rejected
+         */
+        if (event == null)
+            return;
+
+        try {
+            this.observer.publish(event, additional);
+        } catch (Throwable throwable) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+    }
+}
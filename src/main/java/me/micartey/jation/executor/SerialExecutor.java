@@ -0,0 +1,62 @@
+package me.micartey.jation.executor;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-consumer lane on top of a shared executor.
+ * Tasks run one after another in submission order, but never occupy more than one thread of the shared executor at a time.
+ */
+@RequiredArgsConstructor
+public class SerialExecutor implements Executor {
+
+    /*
+     * Amount of tasks drained before the lane yields its thread to other lanes of the shared executor
+     */
+    private static final int DRAIN_LIMIT = 64;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    @NonNull private final Executor executor;
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+        this.tasks.add(task);
+        this.schedule();
+    }
+
+    /**
+     * @return amount of tasks waiting to be executed
+     */
+    public int size() {
+        return this.tasks.size();
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true))
+            this.executor.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            for (int drained = 0; drained < DRAIN_LIMIT && (task = this.tasks.poll()) != null; drained++) {
+                task.run();
+            }
+        } finally {
+            this.scheduled.set(false);
+
+            /*
+             * Tasks added after the last poll but before resetting the flag would be stranded otherwise
+             */
+            if (!this.tasks.isEmpty())
+                this.schedule();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package me.micartey.jation.executor;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel driving a large amount of timeouts from a single thread.
+ * A timeout is hashed into one of {@link #getSize()} buckets by its deadline and carries the amount of full rotations left,
+ * so scheduling and cancelling are constant time and a pending timeout only costs a single small object.
+ * <br />
+ * Timeouts fire with a precision of one tick and run on the wheel thread, they should return quickly and hand longer work to an executor.
+ * The thread is started by the first timeout and stops once the wheel is idle or has been {@link #stop() stopped}.
+ */
+public class TimingWheel {
+
+    @Getter private final long tickNanos;
+    @Getter private final int size;
+
+    private final Bucket[] buckets;
+    private final int mask;
+
+    /*
+     * Timeouts are only linked into buckets by the wheel thread, other threads hand them over through this queue
+     */
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile boolean stopped;
+    private volatile Thread thread;
+
+    private final String name;
+
+    private long start, tick;
+
+    /**
+     * @param name name of the wheel thread
+     * @param tick duration of a single tick
+     * @param unit unit of the tick
+     * @param size amount of buckets, rounded up to a power of two
+     */
+    public TimingWheel(@NonNull String name, long tick, @NonNull TimeUnit unit, int size) {
+        if (tick <= 0 || size <= 0)
+            throw new IllegalArgumentException("Tick and size must be positive");
+
+        this.name = name;
+        this.tickNanos = unit.toNanos(tick);
+        this.size = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.mask = this.size - 1;
+
+        this.buckets = new Bucket[this.size];
+        for (int index = 0; index < this.size; index++) {
+            this.buckets[index] = new Bucket();
+        }
+    }
+
+    /**
+     * @param task  task to run on the wheel thread
+     * @param delay delay before the task runs, rounded up to the next tick
+     * @param unit  unit of the delay
+     * @return timeout which can be cancelled until the task has run
+     */
+    public Timeout schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        if (this.stopped)
+            throw new RejectedExecutionException("Timing wheel " + this.name + " has been stopped");
+
+        Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(Math.max(delay, 0)));
+
+        this.pending.incrementAndGet();
+        this.scheduled.add(timeout);
+
+        /*
+         * Stopped in between, the wheel thread might already be gone
+         */
+        if (this.stopped)
+            this.discard();
+
+        this.start();
+
+        return timeout;
+    }
+
+    /**
+     * @return amount of timeouts which have neither fired nor been cancelled and removed yet
+     */
+    public int getPending() {
+        return this.pending.get();
+    }
+
+    /**
+     * Cancel every pending timeout and stop the wheel thread after its current task.
+     * Scheduling on a stopped wheel is rejected
+     */
+    public void stop() {
+        this.stopped = true;
+
+        Thread thread = this.thread;
+        if (thread != null)
+            LockSupport.unpark(thread);
+
+        this.discard();
+    }
+
+    private void start() {
+        if (this.stopped || !this.running.compareAndSet(false, true))
+            return;
+
+        this.thread = new Thread(this::run, this.name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        this.start = System.nanoTime();
+        this.tick = 0;
+
+        while (true) {
+            if (this.stopped) {
+                for (Bucket bucket : this.buckets) {
+                    bucket.clear();
+                }
+
+                this.discard();
+                this.running.set(false);
+                return;
+            }
+
+            long deadline = this.start + (this.tick + 1) * this.tickNanos;
+            long sleep = deadline - System.nanoTime();
+
+            /*
+             * Unparked early by stop or spuriously, both are handled by checking again
+             */
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+
+            this.transfer();
+            this.buckets[(int) (this.tick & this.mask)].expire(System.nanoTime());
+            this.tick++;
+
+            /*
+             * Stop once idle. A timeout scheduled in between either sees the flag cleared and starts a new thread or is picked up here
+             */
+            if (this.pending.get() == 0) {
+                this.running.set(false);
+
+                if (this.pending.get() == 0 || !this.running.compareAndSet(false, true))
+                    return;
+            }
+        }
+    }
+
+    /*
+     * Cancel timeouts that have not been linked into a bucket yet
+     */
+    private void discard() {
+        Timeout timeout;
+        while ((timeout = this.scheduled.poll()) != null) {
+            timeout.cancel();
+            this.pending.decrementAndGet();
+        }
+    }
+
+    /*
+     * Link scheduled timeouts into the bucket of their deadline. Timeouts that are already due go into the current bucket
+     */
+    private void transfer() {
+        Timeout timeout;
+        while ((timeout = this.scheduled.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                this.pending.decrementAndGet();
+                continue;
+            }
+
+            long ticks = Math.max((timeout.deadline - this.start + this.tickNanos - 1) / this.tickNanos, this.tick);
+
+            timeout.rounds = (ticks - this.tick) / this.size;
+            this.buckets[(int) (ticks & this.mask)].add(timeout);
+        }
+    }
+
+    /**
+     * A scheduled task
+     */
+    public class Timeout {
+
+        private static final int PENDING = 0, EXPIRED = 1, CANCELLED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final Runnable task;
+        private final long deadline;
+
+        /*
+         * Only accessed by the wheel thread
+         */
+        private long rounds;
+        private Timeout next, previous;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * The timeout is unlinked by the wheel thread once its bucket comes up
+         *
+         * @return false if the task already ran or the timeout has been cancelled before
+         */
+        public boolean cancel() {
+            return this.state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return this.state.get() == CANCELLED;
+        }
+    }
+
+    /*
+     * Doubly linked list of timeouts, only accessed by the wheel thread
+     */
+    private class Bucket {
+
+        private Timeout head, tail;
+
+        private void add(Timeout timeout) {
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+                return;
+            }
+
+            this.tail.next = timeout;
+            timeout.previous = this.tail;
+            this.tail = timeout;
+        }
+
+        private void expire(long now) {
+            Timeout timeout = this.head;
+
+            while (timeout != null) {
+                Timeout next = timeout.next;
+
+                if (timeout.state.get() == Timeout.CANCELLED) {
+                    this.remove(timeout);
+                } else if (timeout.rounds <= 0 && timeout.deadline <= now) {
+                    this.remove(timeout);
+
+                    if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED))
+                        this.fire(timeout);
+                } else if (timeout.rounds > 0) {
+                    timeout.rounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        private void clear() {
+            while (this.head != null) {
+                this.head.cancel();
+                this.remove(this.head);
+            }
+        }
+
+        /*
+         * A failing task must not stop the wheel
+         */
+        private void fire(Timeout timeout) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException ex) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous != null)
+                timeout.previous.next = timeout.next;
+            else
+                this.head = timeout.next;
+
+            if (timeout.next != null)
+                timeout.next.previous = timeout.previous;
+            else
+                this.tail = timeout.previous;
+
+            timeout.next = timeout.previous = null;
+            pending.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.micartey.jation.executor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How the consumer of a {@link RingBufferDispatcher} waits for the next published sequence.
+ * Spinning strategies trade CPU time for lower latency.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin on the sequence, lowest latency but occupies a whole core
+     */
+    BUSY_SPIN {
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+
+    /**
+     * Spin for a short while and yield the thread afterwards
+     */
+    YIELD {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return;
+            }
+
+            Thread.yield();
+        }
+    },
+
+    /**
+     * Spin for a short while and park the thread afterwards, lowest CPU usage
+     */
+    PARK {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return;
+            }
+
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * @param attempt amount of consecutive unsuccessful attempts so far
+     */
+    abstract void idle(int attempt);
+}
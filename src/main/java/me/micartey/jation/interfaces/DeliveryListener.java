@@ -0,0 +1,21 @@
+package me.micartey.jation.interfaces;
+
+/**
+ * Notified by a {@link me.micartey.jation.adapter.network.UdpNetworkAdapter} about distributed events.
+ * Methods are called on the retransmission thread and should return quickly.
+ */
+public interface DeliveryListener {
+
+    /**
+     * @param event   event which has been retransmitted
+     * @param attempt attempts made so far, including this one
+     */
+    default void onRetransmit(JationEvent<?> event, int attempt) {}
+
+    /**
+     * @param event    event which has not been acknowledged within the {@link me.micartey.jation.adapter.network.RetryPolicy}
+     * @param attempts attempts made before giving up
+     */
+    default void onDeliveryFailed(JationEvent<?> event, int attempts) {}
+
+}
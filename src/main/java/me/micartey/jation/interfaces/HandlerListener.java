@@ -0,0 +1,30 @@
+package me.micartey.jation.interfaces;
+
+import me.micartey.jation.dispatch.Handler;
+
+/**
+ * Notified by the {@link me.micartey.jation.dispatch.Watchdog} of an observer.
+ * Methods are called either on the watchdog thread or on the thread which would have run the handler and should return quickly.
+ */
+public interface HandlerListener {
+
+    /**
+     * @param handler handler exceeding {@link me.micartey.jation.annotations.Observe#deadline()}
+     * @param event   event the handler has been invoked with
+     * @param elapsed nanoseconds the invocation has been running for
+     */
+    default void onDeadlineExceeded(Handler handler, JationEvent<?> event, long elapsed) {}
+
+    /**
+     * @param handler handler whose previous invocation is still overrunning, see {@link me.micartey.jation.annotations.Observe.Overrun#SKIP}
+     * @param event   event the handler has not been invoked with
+     */
+    default void onSkipped(Handler handler, JationEvent<?> event) {}
+
+    /**
+     * @param handler handler of an instance with no {@link me.micartey.jation.annotations.Bulkhead} permits left
+     * @param event   event the handler has not been invoked with
+     */
+    default void onRejected(Handler handler, JationEvent<?> event) {}
+
+}
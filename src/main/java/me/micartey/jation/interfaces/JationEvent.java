@@ -2,8 +2,19 @@ package me.micartey.jation.interfaces;
 
 import me.micartey.jation.JationObserver;
 
+import java.util.Collection;
+
 public interface JationEvent<T extends JationEvent<T>> {
 
+    default T publish(JationObserver observer) {
+        observer.publish(this);
+        return (T) this;
+    }
+
+    default T publish() {
+        return publish(JationObserver.DEFAULT_OBSERVER);
+    }
+
     default T publish(JationObserver observer, Object... additional) {
         observer.publish(this, additional);
         return (T) this;
@@ -21,4 +32,12 @@ public interface JationEvent<T extends JationEvent<T>> {
     default T publishAsync(Object... additional) {
         return publishAsync(JationObserver.DEFAULT_OBSERVER, additional);
     }
+
+    static void publishAll(JationObserver observer, Collection<? extends JationEvent<?>> events, Object... additional) {
+        observer.publishAll(events, additional);
+    }
+
+    static void publishAll(Collection<? extends JationEvent<?>> events, Object... additional) {
+        publishAll(JationObserver.DEFAULT_OBSERVER, events, additional);
+    }
 }
@@ -0,0 +1,450 @@
+package me.micartey.jation.journal;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.adapter.network.codec.CodecRegistry;
+import me.micartey.jation.interfaces.JationEvent;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of published events on memory-mapped files, see {@link JationObserver#setJournal(EventJournal)}.
+ * <br />
+ * Publishing threads only serialize the event and hand it over, a single writer thread copies the records in batches
+ * into the current segment, rotates segments once they are full and forces them to disk every sync interval.
+ * The publish thread therefore never waits for the disk. Records which can't be handed over are dropped and counted, see {@link #getDropped()}.
+ * <br />
+ * Every record gets a sequence number in write order and the time it has been appended at, raised to the previous timestamp if the clock went back.
+ * Readers are positioned by {@link #seek(long)} or {@link #seekTime(long)} through an in-memory index of the segments
+ * and only scan record headers within a single segment.
+ * <br />
+ * Segments are kept until they exceed the {@link #getRetention()}, the oldest ones are deleted whenever a segment is rotated.
+ */
+public class EventJournal implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final long DEFAULT_SYNC_INTERVAL = 1000;
+
+    private static final String SUFFIX = ".journal";
+
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final int MAX_BATCH = 1024;
+
+    @Getter private final Path directory;
+    @Getter private final int segmentSize;
+    @Getter private final long syncInterval;
+
+    /*
+     * Segments by their first sequence
+     */
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final BlockingQueue<Pending> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final AtomicLong appended = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long written;
+
+    private final Object progress = new Object();
+
+    /*
+     * Max amount of segments including the current one, zero keeps every segment
+     */
+    @Getter @Setter private volatile int retention;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /*
+     * Set once the writer failed, flushing rethrows it instead of waiting for a writer that is gone
+     */
+    private volatile Throwable failure;
+
+    /*
+     * Set while this journal publishes replayed events on the current thread, so they are not journaled again
+     */
+    private final ThreadLocal<Boolean> replaying = ThreadLocal.withInitial(() -> false);
+
+    /*
+     * Encodes the events, registered codecs keep records compact
+     */
+    @Getter private final CodecRegistry codecs;
+
+    /*
+     * Only modified by the writer thread once it has been started
+     */
+    private Segment current;
+    private volatile long nextSequence;
+    private long lastTimestamp;
+
+    /**
+     * Open the journal in the directory, existing segments are recovered and appended to
+     *
+     * @param directory    directory of the segment files, created if it does not exist
+     * @param segmentSize  size of a segment file in bytes
+     * @param syncInterval interval in milliseconds in which written records are forced to disk
+     * @param codecs       encoding of the events, classes without a codec are java serialized
+     */
+    public EventJournal(@NonNull Path directory, int segmentSize, long syncInterval, @NonNull CodecRegistry codecs) throws IOException {
+        if (segmentSize <= Segment.HEADER)
+            throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.syncInterval = syncInterval;
+        this.codecs = codecs;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String name = path.getFileName().toString();
+                long firstSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+
+                this.segments.put(firstSequence, Segment.open(path, firstSequence));
+            }
+        }
+
+        Map.Entry<Long, Segment> last = this.segments.lastEntry();
+
+        /*
+         * Recovered segments are complete, except for the last one which is appended to
+         */
+        this.segments.headMap(last == null ? Long.MIN_VALUE : last.getKey()).values().forEach(Segment::seal);
+
+        if (last == null) {
+            this.current = this.createSegment(0, segmentSize);
+        } else {
+            this.current = last.getValue();
+            this.nextSequence = Math.max(this.current.getFirstSequence(), this.current.getLastSequence() + 1);
+            this.lastTimestamp = this.current.getLastTimestamp();
+        }
+
+        this.writer = new Thread(this::write, "jation-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public EventJournal(@NonNull Path directory, int segmentSize, long syncInterval) throws IOException {
+        this(directory, segmentSize, syncInterval, new CodecRegistry());
+    }
+
+    public EventJournal(@NonNull Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * Encode the event and hand it to the writer thread.
+     * Events which are replayed by this journal are ignored, so replaying does not journal them again.
+     * <br />
+     * Never throws or waits, the event is dropped if the journal has been closed, the writer failed
+     * or is behind by more than the queue capacity. Events which can't be encoded are dropped and reported
+     * to the uncaught exception handler of the publishing thread.
+     *
+     * @param event      published event, must implement {@link Serializable} unless a codec is registered for it
+     * @param additional additional parameters of the publish, replayed with the event and encoded like it
+     */
+    public void append(@NonNull JationEvent<?> event, Object... additional) {
+        if (this.replaying.get())
+            return;
+
+        if (this.failure != null || !this.running) {
+            this.dropped.increment();
+            return;
+        }
+
+        byte[] payload;
+
+        try {
+            Object[] values = new Object[additional.length + 1];
+            values[0] = event;
+            System.arraycopy(additional, 0, values, 1, additional.length);
+
+            payload = this.codecs.encodeAll(values);
+        } catch (Exception ex) {
+            this.dropped.increment();
+            report(ex);
+            return;
+        }
+
+        if (!this.pending.offer(new Pending(System.currentTimeMillis(), payload))) {
+            this.dropped.increment();
+            return;
+        }
+
+        this.appended.incrementAndGet();
+    }
+
+    /**
+     * @return amount of events which have not been journaled, because the journal was closed, failed, behind or couldn't encode them
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Wait until every event appended so far has been written and force the current segment to disk
+     *
+     * @throws IOException if the writer failed
+     */
+    public void flush() throws InterruptedException, IOException {
+        this.flush(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wait until every event appended so far has been written and force the current segment to disk
+     *
+     * @param timeout max time to wait for the writer
+     * @param unit    unit of the timeout
+     * @return false if the writer did not catch up within the timeout
+     * @throws IOException if the writer failed
+     */
+    public boolean flush(long timeout, @NonNull TimeUnit unit) throws InterruptedException, IOException {
+        long target = this.appended.get();
+        long deadline = System.nanoTime() + Math.min(unit.toNanos(timeout), Long.MAX_VALUE / 2);
+
+        synchronized (this.progress) {
+            while (this.written < target) {
+                this.check();
+
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                if (remaining <= 0)
+                    return false;
+
+                this.progress.wait(Math.min(remaining, Math.max(1, this.syncInterval)));
+            }
+        }
+
+        this.check();
+        this.segments.lastEntry().getValue().force();
+        return true;
+    }
+
+    /**
+     * @param sequence sequence of the first record to read
+     * @return reader positioned at the first record with an equal or higher sequence
+     */
+    public JournalReader seek(long sequence) {
+        Map.Entry<Long, Segment> entry = this.segments.floorEntry(sequence);
+        Segment segment = entry != null ? entry.getValue() : this.segments.firstEntry().getValue();
+
+        return new JournalReader(this.segments, segment, this.codecs).skip(sequence, Long.MIN_VALUE);
+    }
+
+    /**
+     * @param timestamp milliseconds since the epoch
+     * @return reader positioned at the first record appended at or after the timestamp
+     */
+    public JournalReader seekTime(long timestamp) {
+        Segment segment = this.segments.firstEntry().getValue();
+
+        /*
+         * Timestamps never decrease, the record is in the last segment that starts at or before the timestamp
+         */
+        for (Segment candidate : this.segments.descendingMap().values()) {
+            if (candidate.getFirstTimestamp() <= timestamp) {
+                segment = candidate;
+                break;
+            }
+        }
+
+        return new JournalReader(this.segments, segment, this.codecs).skip(Long.MIN_VALUE, timestamp);
+    }
+
+    /**
+     * Publish the records of the reader again with their additional parameters until it is exhausted.
+     * Replayed events are not journaled again.
+     *
+     * @param observer observer to publish the events to
+     * @param reader   records to replay
+     * @param speed    multiple of the recorded pace, 1 replays in real time and 0 or less as fast as possible
+     * @return amount of replayed events
+     */
+    public long replay(@NonNull JationObserver observer, @NonNull JournalReader reader, double speed) throws InterruptedException {
+        long replayed = 0;
+        long origin = 0;
+        long start = 0;
+
+        while (reader.hasNext()) {
+            JournalRecord record = reader.next();
+
+            if (replayed == 0) {
+                origin = record.getTimestamp();
+                start = System.nanoTime();
+            } else if (speed > 0) {
+                long delay = start + (long) ((record.getTimestamp() - origin) * 1_000_000 / speed) - System.nanoTime();
+
+                if (delay > 0)
+                    TimeUnit.NANOSECONDS.sleep(delay);
+            }
+
+            /*
+             * Not passed as additional parameter, handlers and adapters must not see the journal
+             */
+            this.replaying.set(true);
+
+            try {
+                observer.publish(record.getEvent(), record.getAdditional());
+            } finally {
+                this.replaying.set(false);
+            }
+
+            replayed++;
+        }
+
+        return replayed;
+    }
+
+    /**
+     * @return sequence the next written record will get
+     */
+    public long getNextSequence() {
+        return this.nextSequence;
+    }
+
+    /**
+     * Stop accepting events, write everything appended so far and force it to disk
+     */
+    @Override
+    public void close() throws InterruptedException, IOException {
+        this.running = false;
+        this.writer.join();
+
+        if (this.failure != null)
+            throw new IOException("Journal writer failed", this.failure);
+    }
+
+    private void write() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        long synced = System.currentTimeMillis();
+        boolean dirty = false;
+
+        while (this.running || !this.pending.isEmpty()) {
+            try {
+                Pending record = this.pending.poll(Math.max(1, this.syncInterval), TimeUnit.MILLISECONDS);
+
+                if (record != null) {
+                    batch.add(record);
+                    this.pending.drainTo(batch, MAX_BATCH - 1);
+
+                    for (Pending entry : batch) {
+                        this.write(entry.timestamp(), entry.payload());
+                    }
+
+                    this.current.commit();
+                    this.written += batch.size();
+                    batch.clear();
+                    dirty = true;
+
+                    synchronized (this.progress) {
+                        this.progress.notifyAll();
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+
+                if (dirty && now - synced >= this.syncInterval) {
+                    this.current.force();
+                    synced = now;
+                    dirty = false;
+                }
+            } catch (Throwable throwable) {
+                this.fail(throwable);
+                return;
+            }
+        }
+
+        this.current.force();
+    }
+
+    /*
+     * Stop the writer and wake up everyone waiting for it, records which have not been written are lost
+     */
+    private void fail(Throwable throwable) {
+        this.failure = throwable;
+        this.running = false;
+        this.pending.clear();
+
+        synchronized (this.progress) {
+            this.progress.notifyAll();
+        }
+
+        report(throwable);
+    }
+
+    private static void report(Throwable throwable) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+
+    private void check() throws IOException {
+        if (this.failure != null)
+            throw new IOException("Journal writer failed", this.failure);
+
+        if (!this.running)
+            throw new IllegalStateException("Journal has been closed");
+    }
+
+    private void write(long timestamp, byte[] payload) throws IOException {
+        /*
+         * Records larger than a segment get a segment of their own
+         */
+        if (!this.current.fits(payload.length)) {
+            Segment previous = this.current;
+            previous.commit();
+
+            this.current = this.createSegment(this.nextSequence, Math.max(this.segmentSize, Segment.HEADER + payload.length));
+
+            previous.seal();
+            previous.force();
+
+            this.retain();
+        }
+
+        this.lastTimestamp = Math.max(this.lastTimestamp, timestamp);
+        this.current.append(this.nextSequence, this.lastTimestamp, payload);
+        this.nextSequence++;
+    }
+
+    /*
+     * The current segment is the newest one, it is never deleted as long as the retention is positive.
+     * Failing to delete a file only leaves it behind, it is not recovered again unless the journal is reopened
+     */
+    private void retain() {
+        int retention = this.retention;
+
+        while (retention > 0 && this.segments.size() > retention) {
+            Segment oldest = this.segments.pollFirstEntry().getValue();
+
+            try {
+                oldest.delete();
+            } catch (IOException ex) {
+                report(ex);
+            }
+        }
+    }
+
+    private Segment createSegment(long firstSequence, int size) throws IOException {
+        Segment segment = Segment.create(this.directory.resolve(String.format("%020d%s", firstSequence, SUFFIX)), firstSequence, size);
+        this.segments.put(firstSequence, segment);
+        return segment;
+    }
+
+    /*
+     * Encoded event and the time it has been appended at, the writer may get to it much later
+     */
+    private record Pending(long timestamp, byte[] payload) {
+
+    }
+}
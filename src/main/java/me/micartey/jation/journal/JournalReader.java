@@ -0,0 +1,82 @@
+package me.micartey.jation.journal;
+
+import me.micartey.jation.adapter.network.codec.CodecRegistry;
+import me.micartey.jation.interfaces.JationEvent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor over the records of an {@link EventJournal} in sequence order, created by {@link EventJournal#seek(long)} or {@link EventJournal#seekTime(long)}.
+ * The reader follows the journal: records appended after the reader has been created are returned as well once they have been written.
+ */
+public class JournalReader implements Iterator<JournalRecord> {
+
+    private final NavigableMap<Long, Segment> segments;
+    private final CodecRegistry codecs;
+
+    private Segment segment;
+    private int position;
+
+    JournalReader(NavigableMap<Long, Segment> segments, Segment segment, CodecRegistry codecs) {
+        this.segments = segments;
+        this.segment = segment;
+        this.codecs = codecs;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (this.segment != null) {
+            if (this.position < this.segment.getCommitted())
+                return true;
+
+            /*
+             * The writer only seals a segment once its successor has been registered
+             */
+            if (!this.segment.isSealed())
+                return false;
+
+            Map.Entry<Long, Segment> next = this.segments.higherEntry(this.segment.getFirstSequence());
+
+            if (next == null)
+                return false;
+
+            this.segment = next.getValue();
+            this.position = 0;
+        }
+
+        return false;
+    }
+
+    @Override
+    public JournalRecord next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+
+        Object[] values = this.codecs.decodeAll(this.segment.payload(this.position));
+
+        JournalRecord record = new JournalRecord(
+                this.segment.sequence(this.position),
+                this.segment.timestamp(this.position),
+                (JationEvent<?>) values[0],
+                Arrays.copyOfRange(values, 1, values.length)
+        );
+
+        this.position += Segment.HEADER + this.segment.length(this.position);
+        return record;
+    }
+
+    /*
+     * Skips records by their headers only, without deserializing them
+     */
+    JournalReader skip(long sequence, long timestamp) {
+        while (this.hasNext() && (this.segment.sequence(this.position) < sequence || this.segment.timestamp(this.position) < timestamp)) {
+            this.position += Segment.HEADER + this.segment.length(this.position);
+        }
+
+        return this;
+    }
+}
@@ -0,0 +1,30 @@
+package me.micartey.jation.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import me.micartey.jation.interfaces.JationEvent;
+
+/**
+ * Event read back from an {@link EventJournal}
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JournalRecord {
+
+    private final long sequence;
+
+    /*
+     * Milliseconds since the epoch, never decreasing within a journal
+     */
+    private final long timestamp;
+
+    private final JationEvent<?> event;
+
+    /*
+     * Additional parameters the event has been published with, empty if there were none
+     */
+    private final Object[] additional;
+
+}
@@ -0,0 +1,140 @@
+package me.micartey.jation.journal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Single memory-mapped journal file. Records are laid out back to back as
+ * [int payload length][long sequence][long timestamp][payload], a zero length marks the end of the written records.
+ *
+ * Only the journal writer appends, readers see every record below the committed position.
+ * The file is closed right after mapping it, the mapping stays valid until the segment becomes unreachable
+ */
+class Segment {
+
+    static final int HEADER = Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    @Getter private final Path path;
+    @Getter private final long firstSequence;
+
+    private final MappedByteBuffer buffer;
+
+    /*
+     * Written by the writer thread only, published to readers through the committed position
+     */
+    private int position;
+
+    @Getter private volatile int committed;
+    @Getter private volatile boolean sealed;
+    @Getter private volatile long firstTimestamp = Long.MAX_VALUE;
+
+    @Getter private long lastSequence = -1;
+    @Getter private long lastTimestamp = Long.MIN_VALUE;
+
+    private Segment(Path path, long firstSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+    }
+
+    static Segment create(Path path, long firstSequence, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /*
+     * Maps an existing file and recovers the end of its records
+     */
+    static Segment open(Path path, long firstSequence) throws IOException {
+        Segment segment;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = new Segment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+
+        while (segment.hasRecord(segment.position)) {
+            long sequence = segment.buffer.getLong(segment.position + Integer.BYTES);
+            long timestamp = segment.buffer.getLong(segment.position + Integer.BYTES + Long.BYTES);
+
+            if (segment.lastSequence < 0)
+                segment.firstTimestamp = timestamp;
+
+            segment.lastSequence = sequence;
+            segment.lastTimestamp = timestamp;
+            segment.position += HEADER + segment.buffer.getInt(segment.position);
+        }
+
+        segment.committed = segment.position;
+        return segment;
+    }
+
+    boolean fits(int length) {
+        return this.position + HEADER + length <= this.buffer.capacity();
+    }
+
+    /*
+     * The length is written last, a record only becomes visible once it has been written completely
+     */
+    void append(long sequence, long timestamp, byte[] payload) {
+        this.buffer.putLong(this.position + Integer.BYTES, sequence);
+        this.buffer.putLong(this.position + Integer.BYTES + Long.BYTES, timestamp);
+        this.buffer.put(this.position + HEADER, payload);
+        this.buffer.putInt(this.position, payload.length);
+
+        if (this.lastSequence < 0)
+            this.firstTimestamp = timestamp;
+
+        this.lastSequence = sequence;
+        this.lastTimestamp = timestamp;
+        this.position += HEADER + payload.length;
+    }
+
+    void commit() {
+        this.committed = this.position;
+    }
+
+    void seal() {
+        this.sealed = true;
+    }
+
+    void force() {
+        this.buffer.force();
+    }
+
+    /*
+     * Readers which are still positioned in the segment keep reading from the mapping
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+
+    boolean hasRecord(int position) {
+        return position + HEADER <= this.buffer.capacity() && this.buffer.getInt(position) > 0
+                && position + HEADER + this.buffer.getInt(position) <= this.buffer.capacity();
+    }
+
+    int length(int position) {
+        return this.buffer.getInt(position);
+    }
+
+    long sequence(int position) {
+        return this.buffer.getLong(position + Integer.BYTES);
+    }
+
+    long timestamp(int position) {
+        return this.buffer.getLong(position + Integer.BYTES + Long.BYTES);
+    }
+
+    byte[] payload(int position) {
+        byte[] payload = new byte[this.length(position)];
+        this.buffer.get(position + HEADER, payload);
+        return payload;
+    }
+}
@@ -0,0 +1,125 @@
+package me.micartey.jation.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, which bounds the relative error of a recorded value to roughly 12%.
+ * <br />
+ * Recording threads are spread over independent stripes, so concurrent recording rarely touches the same cache line.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /*
+     * Values up to 2^40 nanoseconds (roughly 18 minutes) are tracked, larger values end up in the last bucket
+     */
+    private static final int MAGNITUDES = 40;
+    private static final int BUCKETS = (MAGNITUDES + 1) * SUB_BUCKETS;
+
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors())));
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int index = 0; index < STRIPES; index++) {
+            this.stripes[index] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    /**
+     * @param value recorded value, negative values are recorded as zero
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+
+        AtomicLongArray stripe = this.stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+        stripe.getAndIncrement(bucket(value));
+
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * The snapshot is not atomic, values recorded while taking it may or may not be included
+     *
+     * @return snapshot of all recorded values
+     */
+    public HistogramSnapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+
+        for (AtomicLongArray stripe : this.stripes) {
+            for (int index = 0; index < BUCKETS; index++) {
+                long value = stripe.get(index);
+                buckets[index] += value;
+                total += value;
+            }
+        }
+
+        long count = this.count.sum();
+        long max = this.max.get();
+
+        return new HistogramSnapshot(
+                count,
+                count == 0 ? 0 : (double) this.sum.sum() / count,
+                max,
+                Math.min(max, percentile(buckets, total, 0.50)),
+                Math.min(max, percentile(buckets, total, 0.90)),
+                Math.min(max, percentile(buckets, total, 0.99)),
+                Math.min(max, percentile(buckets, total, 0.999))
+        );
+    }
+
+    private static long percentile(long[] buckets, long total, double percentile) {
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+
+        for (int index = 0; index < buckets.length; index++) {
+            seen += buckets[index];
+
+            if (seen >= rank)
+                return highestValue(index);
+        }
+
+        return highestValue(buckets.length - 1);
+    }
+
+    /*
+     * Values below SUB_BUCKETS are stored exactly, larger values by magnitude and their next SUB_BUCKET_BITS bits
+     */
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+
+        if (magnitude > MAGNITUDES)
+            return BUCKETS - 1;
+
+        int subBucket = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValue(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        int subBucket = bucket % SUB_BUCKETS;
+
+        if (magnitude == 0)
+            return subBucket;
+
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (magnitude - 1)) - 1;
+    }
+}
@@ -0,0 +1,24 @@
+package me.micartey.jation.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point in time view of a {@link Histogram}, latencies are in nanoseconds
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class HistogramSnapshot {
+
+    private final long count;
+    private final double mean;
+    private final long max;
+
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+}
@@ -0,0 +1,147 @@
+package me.micartey.jation.metrics;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import me.micartey.jation.dispatch.HandlerMetadata;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and latency metrics of a {@link me.micartey.jation.JationObserver}.
+ * Recording only touches lock-free striped counters, metrics can therefore stay enabled in production.
+ * Observers without metrics skip recording entirely.
+ */
+public class Metrics implements MetricsMXBean {
+
+    private final ConcurrentMap<Class<?>, Histogram> publish = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Histogram> hooks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Histogram> adapters = new ConcurrentHashMap<>();
+
+    /*
+     * Keyed by metadata rather than name, so the name is only computed once per handler
+     */
+    private final ConcurrentMap<HandlerMetadata, Histogram> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<HandlerMetadata, LongAdder> failures = new ConcurrentHashMap<>();
+
+    private ObjectName objectName;
+
+    public void recordPublish(@NonNull Class<?> event, long nanos) {
+        get(this.publish, event).record(nanos);
+    }
+
+    public void recordHooks(@NonNull Class<?> event, long nanos) {
+        get(this.hooks, event).record(nanos);
+    }
+
+    public void recordAdapters(@NonNull Class<?> event, long nanos) {
+        get(this.adapters, event).record(nanos);
+    }
+
+    public void recordHandler(@NonNull HandlerMetadata handler, long nanos) {
+        get(this.handlers, handler).record(nanos);
+    }
+
+    public void recordFailure(@NonNull HandlerMetadata handler) {
+        this.failures.computeIfAbsent(handler, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getPublishLatencies() {
+        return snapshot(this.publish, Class::getName);
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getHookLatencies() {
+        return snapshot(this.hooks, Class::getName);
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getHandlerLatencies() {
+        return snapshot(this.handlers, Metrics::getName);
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getAdapterLatencies() {
+        return snapshot(this.adapters, Class::getName);
+    }
+
+    @Override
+    public Map<String, Long> getHandlerFailures() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        this.failures.forEach((handler, failures) -> snapshot.put(getName(handler), failures.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public void reset() {
+        this.publish.clear();
+        this.hooks.clear();
+        this.adapters.clear();
+        this.handlers.clear();
+        this.failures.clear();
+    }
+
+    /**
+     * Register this instance at the platform MBean server as {@code me.micartey.jation:type=Metrics,name=<name>}
+     *
+     * @param name name to distinguish multiple observers
+     * @return current instance to allow chained calls
+     */
+    @SneakyThrows
+    public synchronized Metrics register(@NonNull String name) {
+        this.unregister();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        this.objectName = ObjectName.getInstance("me.micartey.jation:type=Metrics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, this.objectName);
+
+        return this;
+    }
+
+    @SneakyThrows
+    public synchronized void unregister() {
+        if (this.objectName == null)
+            return;
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        if (server.isRegistered(this.objectName))
+            server.unregisterMBean(this.objectName);
+
+        this.objectName = null;
+    }
+
+    private static <K> Histogram get(ConcurrentMap<K, Histogram> histograms, K key) {
+        Histogram histogram = histograms.get(key);
+
+        if (histogram != null)
+            return histogram;
+
+        return histograms.computeIfAbsent(key, ignored -> new Histogram());
+    }
+
+    private static <K> Map<String, HistogramSnapshot> snapshot(ConcurrentMap<K, Histogram> histograms, Function<K, String> name) {
+        Map<String, HistogramSnapshot> snapshot = new TreeMap<>();
+        histograms.forEach((key, histogram) -> snapshot.put(name.apply(key), histogram.snapshot()));
+        return snapshot;
+    }
+
+    /*
+     * Metadata is shared by all instances of a class, so all instances are reported as one handler
+     */
+    private static String getName(HandlerMetadata handler) {
+        return handler.getDeclaringClass().getName() + "#" + handler.getName() + Arrays.stream(handler.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+}
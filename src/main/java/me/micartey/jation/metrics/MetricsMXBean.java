@@ -0,0 +1,39 @@
+package me.micartey.jation.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link Metrics}, every map is keyed by event class or handler name
+ */
+public interface MetricsMXBean {
+
+    /**
+     * @return latency of {@link me.micartey.jation.JationObserver#publish} per event class, its count is the amount of published events
+     */
+    Map<String, HistogramSnapshot> getPublishLatencies();
+
+    /**
+     * @return latency of the on and after hooks per event class
+     */
+    Map<String, HistogramSnapshot> getHookLatencies();
+
+    /**
+     * @return latency of handler invocations including forEach hooks per handler
+     */
+    Map<String, HistogramSnapshot> getHandlerLatencies();
+
+    /**
+     * @return latency of handing an event to all network adapters per event class
+     */
+    Map<String, HistogramSnapshot> getAdapterLatencies();
+
+    /**
+     * @return amount of handler invocations that threw an exception per handler
+     */
+    Map<String, Long> getHandlerFailures();
+
+    /**
+     * Discard all recorded values
+     */
+    void reset();
+}
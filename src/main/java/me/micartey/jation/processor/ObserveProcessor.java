@@ -0,0 +1,138 @@
+package me.micartey.jation.processor;
+
+import me.micartey.jation.annotations.Async;
+import me.micartey.jation.annotations.Null;
+import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.dispatch.GeneratedDispatcher;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@link GeneratedDispatcher} for every class declaring {@link Observe} annotated methods.
+ * <br />
+ * Classes whose observing methods cannot be called from another class of the same package,
+ * such as private or anonymous classes and private methods, are skipped and keep using reflection.
+ */
+@SupportedAnnotationTypes("me.micartey.jation.annotations.Observe")
+public class ObserveProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<ExecutableElement>> subscribers = new LinkedHashMap<>();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Observe.class)) {
+            if (element.getKind() != ElementKind.METHOD || !(element.getEnclosingElement() instanceof TypeElement type))
+                continue;
+
+            subscribers.computeIfAbsent(type, key -> new ArrayList<>()).add((ExecutableElement) element);
+        }
+
+        subscribers.forEach((type, methods) -> {
+            if (!isAccessible(type) || methods.stream().anyMatch(method -> method.getModifiers().contains(Modifier.PRIVATE)))
+                return;
+
+            try {
+                this.generate(type, methods);
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate dispatcher: " + ex.getMessage(), type);
+            }
+        });
+
+        return false;
+    }
+
+    /*
+     * The generated dispatcher lives in the same package, so everything but private and local classes can be referenced
+     */
+    private boolean isAccessible(TypeElement type) {
+        Element element = type;
+
+        while (element instanceof TypeElement current) {
+            if (current.getNestingKind() == NestingKind.ANONYMOUS || current.getNestingKind() == NestingKind.LOCAL)
+                return false;
+
+            if (current.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+
+            element = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement type, List<ExecutableElement> methods) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+        String dispatcherName = binaryName + GeneratedDispatcher.SUFFIX;
+        String simpleName = packageName.isEmpty() ? dispatcherName : dispatcherName.substring(packageName.length() + 1);
+        String typeName = this.erasure(type.asType());
+
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("@javax.annotation.processing.Generated(\"").append(ObserveProcessor.class.getName()).append("\")\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(simpleName).append(" implements ").append(GeneratedDispatcher.class.getName()).append(" {\n\n");
+        source.append("    @Override\n");
+        source.append("    public java.util.List<me.micartey.jation.dispatch.HandlerMetadata> getHandlers() {\n");
+        source.append("        return java.util.List.of(\n");
+        source.append(methods.stream().map(method -> this.generate(typeName, method)).collect(Collectors.joining(",\n")));
+        source.append("\n        );\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(dispatcherName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private String generate(String typeName, ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+
+        Observe observe = method.getAnnotation(Observe.class);
+        Async async = method.getAnnotation(Async.class);
+        String receiver = method.getModifiers().contains(Modifier.STATIC) ? typeName : "((" + typeName + ") instance)";
+
+        StringJoiner arguments = new StringJoiner(", ");
+        for (int index = 0; index < parameters.size(); index++) {
+            arguments.add("(" + this.erasure(parameters.get(index).asType()) + ") arguments[" + index + "]");
+        }
+
+        return "                new me.micartey.jation.dispatch.HandlerMetadata(\n"
+                + "                        " + typeName + ".class,\n"
+                + "                        \"" + method.getSimpleName() + "\",\n"
+                + "                        new Class<?>[] { " + parameters.stream().map(parameter -> this.erasure(parameter.asType()) + ".class").collect(Collectors.joining(", ")) + " },\n"
+                + "                        new String[] { " + parameters.stream().map(parameter -> "\"" + parameter.getSimpleName() + "\"").collect(Collectors.joining(", ")) + " },\n"
+                + "                        new boolean[] { " + parameters.stream().map(parameter -> String.valueOf(parameter.getAnnotation(Null.class) != null)).collect(Collectors.joining(", ")) + " },\n"
+                + "                        " + observe.priority() + ",\n"
+                + "                        " + (async == null ? "null" : Async.Mode.class.getCanonicalName() + "." + async.value().name()) + ",\n"
+                + "                        " + (observe.key().isEmpty() ? "null" : processingEnv.getElementUtils().getConstantExpression(observe.key())) + ",\n"
+                + "                        " + observe.deadline() + "L,\n"
+                + "                        " + Observe.Overrun.class.getCanonicalName() + "." + observe.overrun().name() + ",\n"
+                + "                        instance -> arguments -> " + receiver + "." + method.getSimpleName() + "(" + arguments + "),\n"
+                + "                        (instance, arguments) -> " + receiver + "." + method.getSimpleName() + "(" + arguments + ")\n"
+                + "                )";
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+}
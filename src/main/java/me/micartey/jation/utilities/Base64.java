@@ -9,20 +9,35 @@ import java.util.Optional;
 public class Base64 {
 
     public static Optional<String> toBase64(Object object) {
+        return toBytes(object).map(bytes -> java.util.Base64.getEncoder().encodeToString(bytes));
+    }
+
+    public static <T> Optional<T> fromBase64(String content) {
+        try {
+            return fromBytes(java.util.Base64.getDecoder().decode(content));
+        } catch (Throwable ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param object serializable object
+     * @return java serialized object without the Base64 encoding, for binary packets
+     */
+    public static Optional<byte[]> toBytes(Object object) {
         try {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
             objectOutputStream.writeObject(object);
             objectOutputStream.close();
-            return Optional.ofNullable(java.util.Base64.getEncoder().encodeToString(outputStream.toByteArray()));
+            return Optional.of(outputStream.toByteArray());
         } catch (Throwable ex) {
             return Optional.empty();
         }
     }
 
-    public static <T> Optional<T> fromBase64(String content) {
+    public static <T> Optional<T> fromBytes(byte[] bytes) {
         try {
-            byte[] bytes = java.util.Base64.getDecoder().decode(content);
             ObjectInputStream outputStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
             T object = (T) outputStream.readObject();
             outputStream.close();
@@ -31,4 +46,4 @@ public class Base64 {
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+}
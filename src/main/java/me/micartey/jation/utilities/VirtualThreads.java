@@ -0,0 +1,22 @@
+package me.micartey.jation.utilities;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreads {
+
+    /**
+     * Virtual threads are only available from Java 21 onwards while the library targets Java 17.
+     * The executor is therefore looked up reflectively.
+     *
+     * @return executor starting a new virtual thread per task, empty if the runtime does not support virtual threads
+     */
+    public static Optional<ExecutorService> newExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (Throwable ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -2,16 +2,41 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.SneakyThrows;
 import me.micartey.jation.JationObserver;
+import me.micartey.jation.adapter.network.DatagramSelector;
 import me.micartey.jation.adapter.network.NetworkAdapter;
+import me.micartey.jation.adapter.network.RetryPolicy;
 import me.micartey.jation.adapter.network.UdpNetworkAdapter;
+import me.micartey.jation.adapter.network.codec.CodecRegistry;
+import me.micartey.jation.adapter.network.codec.FieldCodec;
+import me.micartey.jation.adapter.network.packets.PacketAcknowledge;
+import me.micartey.jation.adapter.network.packets.PacketInvokeMethod;
+import me.micartey.jation.adapter.network.serializer.Serializer;
+import me.micartey.jation.adapter.network.serializer.WireFormat;
 import me.micartey.jation.annotations.Distribution;
 import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.executor.TimingWheel;
+import me.micartey.jation.interfaces.DeliveryListener;
 import me.micartey.jation.interfaces.JationEvent;
+import me.micartey.jation.utilities.Base64;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -20,14 +45,17 @@ public class TestDistribution {
     private JationObserver observerOne, observerTwo, observerThree;
 
     private static final NetworkAdapter adapterOne = new UdpNetworkAdapter(4444, 5555, 6666)
+            .registerCodec(RecordEvent.class)
             .useLoopbackInterface()
             .useBroadcastInterface();
 
     private static final NetworkAdapter adapterTwo = new UdpNetworkAdapter(5555, 4444, 6666)
+            .registerCodec(RecordEvent.class)
             .useLoopbackInterface()
             .useBroadcastInterface();
 
     private static final NetworkAdapter adapterThree = new UdpNetworkAdapter(6666, 4444, 5555)
+            .registerCodec(RecordEvent.class)
             .useLoopbackInterface()
             .useBroadcastInterface();
 
@@ -90,6 +118,459 @@ public class TestDistribution {
         Assertions.assertEquals(1, received.get());
     }
 
+    @Test
+    public void testWireFormat() {
+        PacketInvokeMethod packet = new PacketInvokeMethod(300, Base64.toBytes(new TestEvent("Test 123")).orElseThrow(), Base64.toBytes(new Object[0]).orElseThrow());
+
+        byte[] encoded = WireFormat.encode(packet);
+        byte[] legacy = new Serializer().serialize(packet, PacketInvokeMethod.class).getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertFalse(WireFormat.isLegacy(encoded[0]));
+        Assertions.assertTrue(WireFormat.isLegacy(legacy[0]));
+        Assertions.assertTrue(encoded.length * 2 < legacy.length);
+
+        PacketInvokeMethod decoded = (PacketInvokeMethod) WireFormat.decode(ByteBuffer.wrap(encoded));
+        PacketInvokeMethod decodedLegacy = (PacketInvokeMethod) new Serializer().deserialize(new String(legacy, StandardCharsets.UTF_8), PacketInvokeMethod.class, PacketAcknowledge.class);
+
+        Assertions.assertEquals(300, decoded.getAckId());
+        Assertions.assertArrayEquals(packet.getEventData(), decoded.getEventData());
+        Assertions.assertArrayEquals(packet.getAdditionalObjects(), decodedLegacy.getAdditionalObjects());
+
+        Assertions.assertEquals(300, ((PacketAcknowledge) WireFormat.decode(ByteBuffer.wrap(WireFormat.encode(new PacketAcknowledge(300))))).getAckId());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WireFormat.decode(ByteBuffer.wrap(new byte[] { 99, 2, 0 })));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WireFormat.decode(ByteBuffer.wrap(encoded, 0, encoded.length - 1)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testLegacyWireFormat() {
+        AtomicInteger received = new AtomicInteger(0);
+
+        /*
+         * Port must not be used by any other test, TestBroadcast binds 7777 for the whole run
+         */
+        try (UdpNetworkAdapter legacy = new UdpNetworkAdapter(7771, 4444).useLoopbackInterface().useLegacyWireFormat()) {
+            JationObserver legacyObserver = new JationObserver();
+            legacyObserver.addAdapter(legacy);
+
+            observerOne.subscribe(new Object() {
+                @Observe
+                public void test(TestEvent testEvent) {
+                    received.incrementAndGet();
+                }
+            });
+
+            legacyObserver.publish(new TestEvent("Test 123"));
+
+            Thread.sleep(2000);
+
+            Assertions.assertEquals(1, received.get());
+        }
+    }
+
+    @Test
+    public void testCodec() {
+        CodecRegistry codecs = new CodecRegistry().register(RecordEvent.class).register(MutableEvent.class);
+
+        RecordEvent event = new RecordEvent("Test 123", 5, Distribution.Guarantee.AT_LEAST_ONCE);
+        MutableEvent mutable = new MutableEvent();
+        mutable.amount = 7L;
+
+        byte[] encoded = codecs.encode(event);
+
+        Assertions.assertEquals(event, codecs.decode(encoded));
+        Assertions.assertTrue(encoded.length * 2 < new CodecRegistry().encode(event).length);
+
+        MutableEvent decoded = (MutableEvent) codecs.decode(codecs.encode(mutable));
+        Assertions.assertEquals(Long.valueOf(7), decoded.amount);
+        Assertions.assertNull(decoded.name);
+
+        Object[] additional = codecs.decodeAll(codecs.encodeAll(new Object[] { "additional", 5, null, new TestEvent("Test 123") }));
+        Assertions.assertEquals("additional", additional[0]);
+        Assertions.assertEquals(5, additional[1]);
+        Assertions.assertNull(additional[2]);
+        Assertions.assertEquals("Test 123", ((TestEvent) additional[3]).getData());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> new CodecRegistry().decode(encoded));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCodecCorruption() {
+        byte[] payload = new byte[20_000];
+        Arrays.fill(payload, (byte) 7);
+
+        FieldCodec<BinaryEvent> binary = FieldCodec.of(BinaryEvent.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        binary.encode(new BinaryEvent(payload), new DataOutputStream(bytes));
+
+        Assertions.assertArrayEquals(payload, binary.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).payload());
+
+        /*
+         * Lengths and ordinals are checked before they are used, a corrupt length is not allocated up front
+         */
+        bytes.reset();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeBoolean(true);
+        output.writeInt(Integer.MAX_VALUE);
+        output.write(new byte[3]);
+
+        Assertions.assertThrows(EOFException.class, () -> binary.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+
+        bytes.reset();
+        output.writeBoolean(true);
+        output.writeUTF("Test 123");
+        output.writeInt(5);
+        output.writeBoolean(true);
+        output.writeShort(99);
+
+        Assertions.assertThrows(IOException.class, () -> FieldCodec.of(RecordEvent.class).decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCodecDistribution() {
+        AtomicInteger received = new AtomicInteger(0);
+
+        Object subscriber = new Object() {
+            @Observe
+            public void test(RecordEvent event, String additional) {
+                Assertions.assertEquals(5, event.amount());
+                received.incrementAndGet();
+            }
+        };
+
+        /*
+         * Exactly one of both receivers is selected
+         */
+        observerOne.subscribe(subscriber);
+        observerThree.subscribe(subscriber);
+
+        observerTwo.publish(new RecordEvent("Test 123", 5, Distribution.Guarantee.EXACTLY_ONCE), "additional");
+
+        Thread.sleep(2000);
+
+        Assertions.assertEquals(1, received.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testSelector() {
+        AtomicInteger received = new AtomicInteger(0);
+
+        try (DatagramSelector selector = new DatagramSelector()) {
+            JationObserver sender = new JationObserver();
+            sender.addAdapter(new UdpNetworkAdapter(8881, 8882).useLoopbackInterface().useSelector(selector));
+
+            JationObserver receiver = new JationObserver();
+            receiver.addAdapter(new UdpNetworkAdapter(8882, 8881).useLoopbackInterface().useSelector(selector));
+
+            receiver.subscribe(new Object() {
+                @Observe
+                public void test(TestEvent testEvent) {
+                    received.incrementAndGet();
+                }
+            });
+
+            sender.publish(new TestEvent("Test 123"));
+
+            Thread.sleep(2000);
+        }
+
+        Assertions.assertEquals(1, received.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testPipeline() {
+        CountDownLatch fast = new CountDownLatch(1);
+        AtomicBoolean overtaken = new AtomicBoolean(false);
+
+        JationObserver sender = new JationObserver();
+        sender.addAdapter(new UdpNetworkAdapter(8883, 8884).useLoopbackInterface());
+
+        JationObserver receiver = new JationObserver();
+        receiver.addAdapter(new UdpNetworkAdapter(8884, 8883).useLoopbackInterface().usePipeline(2, 2, 2, 64));
+
+        receiver.subscribe(new Object() {
+            @Observe
+            @SneakyThrows
+            public void test(TestEvent testEvent) {
+                if (testEvent.getData().equals("fast")) {
+                    fast.countDown();
+                    return;
+                }
+
+                /*
+                 * Blocks a dispatcher, the other event still has to be decoded, acknowledged and dispatched
+                 */
+                overtaken.set(fast.await(5, TimeUnit.SECONDS));
+            }
+        });
+
+        sender.publish(new TestEvent("slow"));
+        Thread.sleep(500);
+        sender.publish(new TestEvent("fast"));
+
+        Assertions.assertTrue(fast.await(5, TimeUnit.SECONDS));
+        Thread.sleep(500);
+
+        Assertions.assertTrue(overtaken.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testSaturation() {
+        CountDownLatch blocked = new CountDownLatch(1), release = new CountDownLatch(1), retransmitted = new CountDownLatch(2);
+        List<String> received = new ArrayList<>();
+
+        UdpNetworkAdapter adapter = new UdpNetworkAdapter(8893, 8894).useLoopbackInterface().useRetryPolicy(RetryPolicy.fixed(50, 0));
+        adapter.addListener(new DeliveryListener() {
+            @Override
+            public void onRetransmit(JationEvent<?> event, int attempt) {
+                if (((TestEvent) event).getData().equals("second"))
+                    retransmitted.countDown();
+            }
+        });
+
+        JationObserver sender = new JationObserver();
+        sender.addAdapter(adapter);
+
+        JationObserver receiver = new JationObserver();
+        receiver.addAdapter(new UdpNetworkAdapter(8894, 8893).useLoopbackInterface().usePipeline(1, 1, 1, 1));
+
+        receiver.subscribe(new Object() {
+            @Observe
+            @SneakyThrows
+            public void test(TestEvent testEvent) {
+                blocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+
+                synchronized (received) {
+                    received.add(testEvent.getData());
+                }
+            }
+        });
+
+        sender.publish(new TestEvent("first"));
+        Assertions.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        /*
+         * The dispatch stage is full, so the event is not acknowledged and retransmitted until the handler returns
+         */
+        sender.publish(new TestEvent("second"));
+        Assertions.assertTrue(retransmitted.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+
+        for (int i = 0; i < 50 && adapter.getPending() > 0; i++)
+            Thread.sleep(100);
+
+        Thread.sleep(200);
+
+        Assertions.assertEquals(0, adapter.getPending());
+        synchronized (received) {
+            Assertions.assertEquals(List.of("first", "second"), received);
+        }
+    }
+
+    @Test
+    public void testBatchWireFormat() {
+        byte[] invoke = WireFormat.encode(new PacketInvokeMethod(300, new byte[] { 1, 2, 3 }, new byte[0]));
+        byte[] acknowledge = WireFormat.encode(new PacketAcknowledge(301));
+
+        ByteBuffer batch = ByteBuffer.allocate(WireFormat.BATCH_HEADER + WireFormat.frameSize(invoke) + WireFormat.frameSize(acknowledge));
+        WireFormat.putBatchHeader(batch);
+        WireFormat.putFrame(batch, invoke);
+        WireFormat.putFrame(batch, acknowledge);
+
+        List<Object> packets = WireFormat.decodeAll(batch.flip());
+
+        Assertions.assertEquals(2, packets.size());
+        Assertions.assertArrayEquals(new byte[] { 1, 2, 3 }, ((PacketInvokeMethod) packets.get(0)).getEventData());
+        Assertions.assertEquals(301, ((PacketAcknowledge) packets.get(1)).getAckId());
+
+        Assertions.assertEquals(1, WireFormat.decodeAll(ByteBuffer.wrap(acknowledge)).size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WireFormat.decode(ByteBuffer.wrap(batch.array())));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WireFormat.decodeAll(ByteBuffer.wrap(batch.array(), 0, batch.limit() - 1)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBatching() {
+        CountDownLatch received = new CountDownLatch(100);
+
+        /*
+         * Ports must not be used by any other test, TestBroadcast binds 8888 for the whole run
+         */
+        try (UdpNetworkAdapter senderAdapter = new UdpNetworkAdapter(8891, 8892).useLoopbackInterface().useBatching(1472, 500);
+             UdpNetworkAdapter receiverAdapter = new UdpNetworkAdapter(8892, 8891).useLoopbackInterface().useBatching(1472, 500)) {
+
+            JationObserver sender = new JationObserver();
+            sender.addAdapter(senderAdapter);
+
+            JationObserver receiver = new JationObserver();
+            receiver.addAdapter(receiverAdapter);
+
+            receiver.subscribe(new Object() {
+                @Observe
+                public void test(TestEvent2 testEvent) {
+                    received.countDown();
+                }
+            });
+
+            List<TestEvent2> events = new ArrayList<>();
+            for (int index = 0; index < 100; index++) {
+                events.add(new TestEvent2("Test " + index));
+            }
+
+            sender.publishAll(events);
+
+            Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testRetryPolicy() {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger retransmitted = new AtomicInteger(0);
+        AtomicInteger attempts = new AtomicInteger(0);
+
+        /*
+         * Nobody listens on the target port, so the event is never acknowledged
+         */
+        UdpNetworkAdapter adapter = new UdpNetworkAdapter(8885, 8886).useLoopbackInterface().useRetryPolicy(RetryPolicy.fixed(50, 3));
+        adapter.addListener(new DeliveryListener() {
+            @Override
+            public void onRetransmit(JationEvent<?> event, int attempt) {
+                retransmitted.incrementAndGet();
+            }
+
+            @Override
+            public void onDeliveryFailed(JationEvent<?> event, int made) {
+                attempts.set(made);
+                failed.countDown();
+            }
+        });
+
+        JationObserver sender = new JationObserver();
+        sender.addAdapter(adapter);
+
+        sender.publish(new TestEvent("Test 123"));
+
+        Assertions.assertTrue(failed.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(2, retransmitted.get());
+        Assertions.assertEquals(0, adapter.getPending());
+
+        /*
+         * Without a policy events are retransmitted until they are acknowledged
+         */
+        Assertions.assertFalse(RetryPolicy.DEFAULT.isExhausted(Integer.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testClose() {
+        UdpNetworkAdapter adapter = new UdpNetworkAdapter(8889, 8890).useLoopbackInterface().useRetryPolicy(RetryPolicy.fixed(50, 100));
+
+        JationObserver sender = new JationObserver();
+        sender.addAdapter(adapter);
+
+        /*
+         * Keeps the running pipeline instead of starting another one
+         */
+        new JationObserver().addAdapter(adapter);
+
+        sender.publish(new TestEvent("Test 123"));
+        Assertions.assertEquals(1, adapter.getPending());
+
+        adapter.close();
+        adapter.close();
+
+        Assertions.assertEquals(0, adapter.getPending());
+        /*
+         * Closed adapters drop events instead of failing the publish of the observer
+         */
+        sender.publish(new TestEvent("Test 123"));
+        Assertions.assertEquals(0, adapter.getPending());
+
+        Assertions.assertTrue(sender.removeAdapter(adapter));
+        Assertions.assertFalse(sender.removeAdapter(adapter));
+
+        /*
+         * Port has been released
+         */
+        try (UdpNetworkAdapter other = new UdpNetworkAdapter(8889, 8890)) {
+            Assertions.assertNotNull(other);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testTimingWheelStop() {
+        TimingWheel wheel = new TimingWheel("test-wheel", 1, TimeUnit.MILLISECONDS, 8);
+        AtomicBoolean fired = new AtomicBoolean(false);
+
+        wheel.schedule(() -> fired.set(true), 50, TimeUnit.MILLISECONDS);
+        wheel.stop();
+
+        Thread.sleep(200);
+        Assertions.assertFalse(fired.get());
+        Assertions.assertEquals(0, wheel.getPending());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> wheel.schedule(() -> {}, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testTimingWheel() {
+        TimingWheel wheel = new TimingWheel("test-wheel", 1, TimeUnit.MILLISECONDS, 8);
+        CountDownLatch fired = new CountDownLatch(10_000);
+        AtomicBoolean early = new AtomicBoolean(false);
+
+        long start = System.nanoTime();
+
+        /*
+         * Delays beyond a single rotation of the wheel, cancelled timeouts must never fire
+         */
+        for (int index = 0; index < 20_000; index++) {
+            long delay = index % 50;
+
+            TimingWheel.Timeout timeout = wheel.schedule(() -> {
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay))
+                    early.set(true);
+
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+
+            if (index % 2 == 1)
+                timeout.cancel();
+        }
+
+        Assertions.assertTrue(fired.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(early.get());
+
+        Thread.sleep(200);
+        Assertions.assertEquals(0, wheel.getPending());
+    }
+
+    @Distribution(Distribution.Guarantee.EXACTLY_ONCE)
+    public record RecordEvent(String data, int amount, Distribution.Guarantee guarantee) implements JationEvent<RecordEvent>, Serializable {
+
+    }
+
+    public record BinaryEvent(byte[] payload) {
+
+    }
+
+    public static class MutableEvent {
+
+        private String name;
+        private Long amount;
+
+    }
+
     @Data
     @AllArgsConstructor
     @Distribution(Distribution.Guarantee.EXACTLY_ONCE)
@@ -0,0 +1,150 @@
+import me.micartey.jation.dispatch.Invoker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestInvoker {
+
+    @Test
+    public void testReturnValue() throws Throwable {
+        Subscriber subscriber = new Subscriber();
+        Invoker invoker = Invoker.of(subscriber, method("accept", String.class));
+
+        invoker.invoke(new Object[] { "first" });
+        invoker.invoke(new Object[] { "second" });
+
+        Assertions.assertEquals(List.of("first", "second"), subscriber.received);
+    }
+
+    @Test
+    public void testExceptions() {
+        Invoker invoker = Invoker.of(new Subscriber(), method("fail", String.class));
+
+        /*
+         * Thrown as is, neither wrapped into an InvocationTargetException nor an UndeclaredThrowableException
+         */
+        IOException checked = Assertions.assertThrows(IOException.class, () -> invoker.invoke(new Object[] { "checked" }));
+        Assertions.assertEquals("checked", checked.getMessage());
+
+        IllegalStateException unchecked = Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(new Object[] { null }));
+        Assertions.assertEquals("unchecked", unchecked.getMessage());
+
+        Assertions.assertThrows(ClassCastException.class, () -> invoker.invoke(new Object[] { 5 }));
+    }
+
+    @Test
+    public void testPrimitives() throws Throwable {
+        Subscriber subscriber = new Subscriber();
+        Invoker invoker = Invoker.of(subscriber, method("primitives", int.class, long.class, double.class, boolean.class, char.class));
+
+        invoker.invoke(new Object[] { 1, 2L, 3.5, true, 'x' });
+
+        Assertions.assertEquals(List.of("1 2 3.5 true x"), subscriber.received);
+        Assertions.assertThrows(NullPointerException.class, () -> invoker.invoke(new Object[] { null, 2L, 3.5, true, 'x' }));
+    }
+
+    @Test
+    public void testStatic() throws Throwable {
+        Subscriber.STATIC.clear();
+
+        Invoker.of(new Subscriber(), method("receive", String.class, int.class)).invoke(new Object[] { "static", 3 });
+        Invoker.unbound(method("receive", String.class, int.class)).invoke(null, new Object[] { "unbound", 4 });
+
+        Assertions.assertEquals(List.of("static 3", "unbound 4"), Subscriber.STATIC);
+    }
+
+    @Test
+    public void testUnbound() throws Throwable {
+        Subscriber first = new Subscriber(), second = new Subscriber();
+        Invoker.Unbound invoker = Invoker.unbound(method("accept", String.class));
+
+        invoker.invoke(first, new Object[] { "first" });
+        invoker.invoke(second, new Object[] { "second" });
+
+        Assertions.assertEquals(List.of("first"), first.received);
+        Assertions.assertEquals(List.of("second"), second.received);
+    }
+
+    /*
+     * More parameters than spun shapes exist, invoked through a method handle instead
+     */
+    @Test
+    public void testWide() throws Throwable {
+        Subscriber subscriber = new Subscriber();
+        Invoker invoker = Invoker.of(subscriber, method("wide", int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class));
+
+        invoker.invoke(new Object[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+
+        Assertions.assertEquals(List.of("45"), subscriber.received);
+        Assertions.assertFalse(subscriber.spun);
+    }
+
+    /*
+     * The observing method has to be called by a spun class, a method handle in a field can't be inlined
+     */
+    @Test
+    public void testSpun() throws Throwable {
+        Subscriber subscriber = new Subscriber();
+
+        Invoker.of(subscriber, method("accept", String.class)).invoke(new Object[] { "event" });
+        Assertions.assertTrue(subscriber.spun);
+
+        subscriber.spun = false;
+
+        Invoker.unbound(method("accept", String.class)).invoke(subscriber, new Object[] { "event" });
+        Assertions.assertTrue(subscriber.spun);
+    }
+
+    private static Method method(String name, Class<?>... parameters) {
+        try {
+            return Subscriber.class.getDeclaredMethod(name, parameters);
+        } catch (NoSuchMethodException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    public static class Subscriber {
+
+        private static final List<String> STATIC = new ArrayList<>();
+
+        private final List<String> received = new ArrayList<>();
+        private boolean spun;
+
+        private boolean accept(String event) {
+            this.spun = isSpunCaller();
+            return this.received.add(event);
+        }
+
+        /*
+         * Spun classes are hidden and only show up in stack traces if asked for
+         */
+        private static boolean isSpunCaller() {
+            return StackWalker.getInstance(StackWalker.Option.SHOW_HIDDEN_FRAMES)
+                    .walk(frames -> frames.skip(2).findFirst().orElseThrow().getClassName().contains("$$Lambda"));
+        }
+
+        void fail(String message) throws IOException {
+            if (message == null)
+                throw new IllegalStateException("unchecked");
+
+            throw new IOException(message);
+        }
+
+        void primitives(int a, long b, double c, boolean d, char e) {
+            this.received.add(a + " " + b + " " + c + " " + d + " " + e);
+        }
+
+        static void receive(String event, int amount) {
+            STATIC.add(event + " " + amount);
+        }
+
+        void wide(int a, int b, int c, int d, int e, int f, int g, int h, int i) {
+            this.spun = isSpunCaller();
+            this.received.add(String.valueOf(a + b + c + d + e + f + g + h + i));
+        }
+    }
+}
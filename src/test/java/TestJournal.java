@@ -0,0 +1,259 @@
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.SneakyThrows;
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.adapter.network.codec.CodecRegistry;
+import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.interfaces.JationEvent;
+import me.micartey.jation.journal.EventJournal;
+import me.micartey.jation.journal.JournalReader;
+import me.micartey.jation.journal.JournalRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class TestJournal {
+
+    private Path directory;
+    private JationObserver observer;
+
+    @BeforeEach
+    @SneakyThrows
+    public void setup() {
+        directory = Files.createTempDirectory("jation-journal");
+        observer = new JationObserver();
+    }
+
+    @AfterEach
+    @SneakyThrows
+    public void cleanup() {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testSeek() {
+        try (EventJournal journal = new EventJournal(directory, 4096, 10)) {
+            observer.setJournal(journal);
+
+            for (int index = 0; index < 1000; index++) {
+                new JournalEvent(index).publish(observer);
+            }
+
+            journal.flush();
+
+            /*
+             * Small segments force the journal to rotate
+             */
+            try (Stream<Path> files = Files.list(directory)) {
+                Assertions.assertTrue(files.count() > 1);
+            }
+
+            JournalReader reader = journal.seek(500);
+            JournalRecord record = reader.next();
+
+            Assertions.assertEquals(500, record.getSequence());
+            Assertions.assertEquals(500, ((JournalEvent) record.getEvent()).getIndex());
+
+            JournalReader timed = journal.seekTime(record.getTimestamp());
+            Assertions.assertTrue(timed.next().getTimestamp() >= record.getTimestamp());
+
+            int count = 0;
+            for (JournalReader all = journal.seek(0); all.hasNext(); all.next()) {
+                count++;
+            }
+
+            Assertions.assertEquals(1000, count);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReplay() {
+        try (EventJournal journal = new EventJournal(directory, 4096, 10)) {
+            observer.setJournal(journal);
+
+            for (int index = 0; index < 100; index++) {
+                observer.publish(new JournalEvent(index), "additional " + index);
+            }
+
+            journal.flush();
+
+            List<Integer> received = new ArrayList<>();
+
+            observer.subscribe(new Object() {
+                @Observe
+                public void test(JournalEvent event, String additional) {
+                    /*
+                     * Replayed with the recorded additional parameter, the journal itself must not show up
+                     */
+                    Assertions.assertEquals("additional " + event.getIndex(), additional);
+                    received.add(event.getIndex());
+                }
+            });
+
+            Assertions.assertEquals(100, journal.replay(observer, journal.seek(0), 0));
+            journal.flush();
+
+            /*
+             * Replayed events are not journaled again
+             */
+            Assertions.assertEquals(100, received.size());
+            Assertions.assertEquals(100, journal.getNextSequence());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testRecovery() {
+        try (EventJournal journal = new EventJournal(directory, 4096, 10)) {
+            observer.setJournal(journal);
+
+            for (int index = 0; index < 100; index++) {
+                new JournalEvent(index).publish(observer);
+            }
+        }
+
+        try (EventJournal journal = new EventJournal(directory, 4096, 10)) {
+            Assertions.assertEquals(100, journal.getNextSequence());
+
+            observer.setJournal(journal);
+            new JournalEvent(100).publish(observer);
+            journal.flush();
+
+            JournalReader reader = journal.seek(99);
+            Assertions.assertEquals(99, ((JournalEvent) reader.next().getEvent()).getIndex());
+            Assertions.assertEquals(100, ((JournalEvent) reader.next().getEvent()).getIndex());
+            Assertions.assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCodecs() {
+        try (EventJournal journal = new EventJournal(directory, 4096, 10, new CodecRegistry().register(RecordJournalEvent.class))) {
+            observer.setJournal(journal);
+
+            for (int index = 0; index < 10; index++) {
+                new RecordJournalEvent(index, "record " + index).publish(observer);
+            }
+
+            journal.flush();
+
+            JournalReader reader = journal.seek(5);
+            Assertions.assertEquals(new RecordJournalEvent(5, "record 5"), reader.next().getEvent());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testWriterFailure() {
+        EventJournal journal = new EventJournal(directory, 4096, 10);
+        observer.setJournal(journal);
+
+        /*
+         * Rotating into a new segment fails once the directory is gone
+         */
+        cleanup();
+
+        for (int index = 0; index < 1000; index++) {
+            new JournalEvent(index).publish(observer);
+        }
+
+        Assertions.assertThrows(IOException.class, () -> journal.flush(5, TimeUnit.SECONDS));
+
+        /*
+         * Publishing is not affected by the failed journal, the event is only counted
+         */
+        long dropped = journal.getDropped();
+        new JournalEvent(0).publish(observer);
+
+        Assertions.assertEquals(dropped + 1, journal.getDropped());
+        Assertions.assertThrows(IOException.class, journal::close);
+
+        Files.createDirectories(directory);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testRetention() {
+        try (EventJournal journal = new EventJournal(directory, 4096, 10)) {
+            journal.setRetention(2);
+            observer.setJournal(journal);
+
+            for (int index = 0; index < 1000; index++) {
+                new JournalEvent(index).publish(observer);
+            }
+
+            journal.flush();
+
+            try (Stream<Path> files = Files.list(directory)) {
+                Assertions.assertEquals(2, files.count());
+            }
+
+            /*
+             * Seeking into deleted segments starts at the oldest retained record
+             */
+            JournalRecord oldest = journal.seek(0).next();
+            Assertions.assertTrue(oldest.getSequence() > 0);
+            Assertions.assertEquals(oldest.getSequence(), ((JournalEvent) oldest.getEvent()).getIndex());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testTimestamp() {
+        try (EventJournal journal = new EventJournal(directory, 4096, 10)) {
+            observer.setJournal(journal);
+
+            long before = System.currentTimeMillis();
+            new JournalEvent(0).publish(observer);
+            long after = System.currentTimeMillis();
+
+            /*
+             * Stamped when appended, not when the writer gets to it
+             */
+            Thread.sleep(50);
+            journal.flush();
+
+            long timestamp = journal.seek(0).next().getTimestamp();
+            Assertions.assertTrue(timestamp >= before && timestamp <= after);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testClosed() {
+        EventJournal journal = new EventJournal(directory, 4096, 10);
+        observer.setJournal(journal);
+        journal.close();
+
+        new JournalEvent(0).publish(observer);
+        Assertions.assertEquals(1, journal.getDropped());
+    }
+
+    public record RecordJournalEvent(int index, String name) implements JationEvent<RecordJournalEvent> {
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class JournalEvent implements JationEvent<JournalEvent>, Serializable {
+
+        private int index;
+
+    }
+}
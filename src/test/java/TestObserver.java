@@ -0,0 +1,956 @@
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.SneakyThrows;
+import me.micartey.jation.JationObserver;
+import me.micartey.jation.annotations.Async;
+import me.micartey.jation.annotations.Bulkhead;
+import me.micartey.jation.annotations.Conflate;
+import me.micartey.jation.annotations.Null;
+import me.micartey.jation.annotations.Observe;
+import me.micartey.jation.annotations.Route;
+import me.micartey.jation.dispatch.GeneratedDispatcher;
+import me.micartey.jation.dispatch.Handler;
+import me.micartey.jation.executor.Backpressure;
+import me.micartey.jation.executor.BoundedQueue;
+import me.micartey.jation.executor.RingBufferDispatcher;
+import me.micartey.jation.executor.WaitStrategy;
+import me.micartey.jation.interfaces.HandlerListener;
+import me.micartey.jation.interfaces.JationEvent;
+import me.micartey.jation.metrics.Metrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestObserver {
+
+    private JationObserver observer;
+
+    @BeforeEach
+    public void setup() {
+        observer = new JationObserver();
+    }
+
+    @Test
+    public void testPriority() {
+        List<Integer> order = new ArrayList<>();
+
+        observer.subscribe(new Object() {
+            @Observe(priority = 1)
+            public void low(TestEvent event) {
+                order.add(1);
+            }
+
+            @Observe(priority = 5)
+            public void high(TestEvent event) {
+                order.add(5);
+            }
+        }, new Object() {
+            @Observe(priority = 3)
+            public void medium(TestEvent event) {
+                order.add(3);
+            }
+        });
+
+        observer.publish(new TestEvent("Test 123"));
+
+        Assertions.assertEquals(Arrays.asList(5, 3, 1), order);
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        List<String> received = new ArrayList<>();
+
+        Object subscriber = new Object() {
+            @Observe
+            public void test(TestEvent event) {
+                received.add(event.getData());
+            }
+        };
+
+        observer.subscribe(subscriber);
+        observer.publish(new TestEvent("first"));
+
+        observer.unsubscribe(subscriber);
+        observer.publish(new TestEvent("second"));
+
+        Assertions.assertEquals(List.of("first"), received);
+    }
+
+    @Test
+    public void testAdditionalParameters() {
+        List<Object> received = new ArrayList<>();
+
+        observer.subscribe(new Object() {
+            @Observe
+            public void test(Integer amount, TestEvent event, @Null String text) {
+                received.add(amount);
+                received.add(event.getData());
+                received.add(text);
+            }
+        });
+
+        observer.publish(new TestEvent("first"), 5, "additional");
+        observer.publish(new TestEvent("second"), 7);
+
+        Assertions.assertEquals(Arrays.asList(5, "first", "additional", 7, "second", null), received);
+        Assertions.assertThrows(IllegalStateException.class, () -> observer.publish(new TestEvent("third"), "additional"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testConcurrentSubscribe() {
+        AtomicInteger received = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int index = 0; index < 1000; index++) {
+            executor.execute(() -> {
+                observer.subscribe(new Object() {
+                    @Observe
+                    public void test(TestEvent event) {
+                        received.incrementAndGet();
+                    }
+                });
+
+                observer.publish(new TestEvent("concurrent"));
+            });
+        }
+
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        received.set(0);
+        observer.publish(new TestEvent("Test 123"));
+
+        Assertions.assertEquals(1000, received.get());
+    }
+
+    @Test
+    public void testPublishAll() {
+        List<String> received = new ArrayList<>();
+
+        observer.subscribe(new Object() {
+            @Observe
+            public void test(TestEvent event) {
+                received.add(event.getData());
+            }
+        });
+
+        observer.on(TestEvent.class, event -> !event.getData().equals("second"));
+        observer.publishAll(Arrays.asList(new TestEvent("first"), new TestEvent("second"), new TestEvent("third")));
+
+        Assertions.assertEquals(List.of("first", "third"), received);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testSerialExecution() {
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+
+        observer.subscribe(new Object() {
+            @Async(Async.Mode.SERIAL)
+            @Observe
+            public void test(TestEvent event, Integer index) {
+                received.add(index);
+                latch.countDown();
+            }
+        });
+
+        for (int index = 0; index < 100; index++) {
+            observer.publish(new TestEvent("serial"), index);
+        }
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), received);
+    }
+
+    @Test
+    public void testSerialLaneIdentity() {
+        List<Runnable> scheduled = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+
+        JationObserver manual = new JationObserver(scheduled::add);
+
+        /*
+         * Equal but distinct subscribers, unsubscribing one must neither take the lane of the other nor send it to the executor directly
+         */
+        SerialSubscriber first = new SerialSubscriber("equal", received), second = new SerialSubscriber("equal", received);
+        manual.subscribe(first, second);
+        manual.unsubscribe(first);
+
+        manual.publish(new TestEvent("first"));
+        manual.publish(new TestEvent("second"));
+
+        Assertions.assertEquals(1, scheduled.size());
+
+        scheduled.remove(0).run();
+        Assertions.assertEquals(List.of("first", "second"), received);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBoundedQueue() {
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+
+        JationObserver bounded = new JationObserver(Executors.newFixedThreadPool(2), new BoundedQueue(4, Backpressure.DROP_NEWEST));
+        bounded.subscribe(new Object() {
+            @Async
+            @Observe
+            @SneakyThrows
+            public void test(TestEvent event) {
+                gate.await();
+                received.incrementAndGet();
+            }
+        });
+
+        for (int index = 0; index < 10; index++) {
+            bounded.publish(new TestEvent("bounded"));
+        }
+
+        Assertions.assertEquals(4, bounded.getQueue().getDepth());
+        Assertions.assertEquals(6, bounded.getQueue().getDropped());
+
+        gate.countDown();
+        Thread.sleep(500);
+
+        Assertions.assertEquals(4, received.get());
+        Assertions.assertEquals(0, bounded.getQueue().getDepth());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBoundedQueuePublishAsync() {
+        CountDownLatch received = new CountDownLatch(10);
+
+        /*
+         * The publishing tasks must not take the single permit their own handlers are waiting for
+         */
+        JationObserver bounded = new JationObserver(Executors.newCachedThreadPool(), new BoundedQueue(1, Backpressure.BLOCK));
+        bounded.subscribe(new Object() {
+            @Async
+            @Observe
+            public void first(TestEvent event) {
+                received.countDown();
+            }
+
+            @Async
+            @Observe
+            public void second(TestEvent event) {
+                received.countDown();
+            }
+        });
+
+        for (int index = 0; index < 5; index++) {
+            bounded.publishAsync(new TestEvent("bounded"));
+        }
+
+        Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBoundedQueueDropOldest() {
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        JationObserver bounded = new JationObserver(Executors.newSingleThreadExecutor(), new BoundedQueue(2, Backpressure.DROP_OLDEST));
+        bounded.subscribe(new Object() {
+            @Async
+            @Observe
+            @SneakyThrows
+            public void test(TestEvent event) {
+                started.countDown();
+                gate.await();
+                received.add(event.getData());
+            }
+        });
+
+        bounded.publish(new TestEvent("0"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        /*
+         * The first invocation is running and can't be evicted, every later one replaces the pending one
+         */
+        TestEvent evicted = new TestEvent("1");
+        WeakReference<TestEvent> reference = new WeakReference<>(evicted);
+        bounded.publish(evicted);
+        evicted = null;
+
+        for (int index = 2; index < 1000; index++) {
+            bounded.publish(new TestEvent(String.valueOf(index)));
+        }
+
+        /*
+         * Evicted invocations stay in the queue of the executor, but must not keep their event reachable
+         */
+        for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertNull(reference.get());
+
+        gate.countDown();
+        Thread.sleep(500);
+
+        Assertions.assertEquals(List.of("0", "999"), received);
+        Assertions.assertEquals(998, bounded.getQueue().getDropped());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBoundedQueueCallerRunsSerial() {
+        CountDownLatch received = new CountDownLatch(100);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        JationObserver bounded = new JationObserver(Executors.newFixedThreadPool(2), new BoundedQueue(1, Backpressure.CALLER_RUNS));
+        bounded.subscribe(new Object() {
+            @Observe
+            @Async(Async.Mode.SERIAL)
+            public void test(TestEvent event) {
+                order.add(Integer.parseInt(event.getData()));
+                received.countDown();
+            }
+        });
+
+        for (int index = 0; index < 100; index++) {
+            bounded.publish(new TestEvent(String.valueOf(index)));
+        }
+
+        Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), order);
+        Assertions.assertEquals(0, bounded.getQueue().getCallerRuns());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testRingBufferDispatcher() {
+        List<String> received = new ArrayList<>();
+
+        observer.subscribe(new Object() {
+            @Observe
+            public void test(TestEvent event) {
+                received.add(event.getData());
+            }
+        });
+
+        try (RingBufferDispatcher dispatcher = new RingBufferDispatcher(observer, 16, WaitStrategy.PARK)) {
+            for (int index = 0; index < 1000; index++) {
+                dispatcher.publish(new TestEvent(String.valueOf(index)));
+            }
+        }
+
+        Assertions.assertEquals(IntStream.range(0, 1000).mapToObj(String::valueOf).collect(Collectors.toList()), received);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testRingBufferDispatcherClose() {
+        AtomicInteger received = new AtomicInteger();
+
+        observer.subscribe(new Object() {
+            @Observe
+            public void test(TestEvent event) {
+                received.incrementAndGet();
+            }
+        });
+
+        /*
+         * Publishers keep a small ring full while it is closed, none of them may hang or lose an accepted event
+         */
+        for (int round = 0; round < 200; round++) {
+            RingBufferDispatcher dispatcher = new RingBufferDispatcher(observer, 2, WaitStrategy.PARK);
+            AtomicInteger accepted = new AtomicInteger();
+            List<Thread> publishers = new ArrayList<>();
+
+            received.set(0);
+
+            for (int index = 0; index < 4; index++) {
+                Thread publisher = new Thread(() -> {
+                    try {
+                        while (true) {
+                            dispatcher.publish(new TestEvent("closing"));
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException ignored) {
+                        // Closed
+                    }
+                });
+
+                publisher.start();
+                publishers.add(publisher);
+            }
+
+            Thread.yield();
+            dispatcher.close();
+
+            for (Thread publisher : publishers) {
+                publisher.join(5000);
+                Assertions.assertFalse(publisher.isAlive());
+            }
+
+            Assertions.assertEquals(accepted.get(), received.get());
+            Assertions.assertThrows(IllegalStateException.class, () -> dispatcher.publish(new TestEvent("closed")));
+        }
+    }
+
+    @Test
+    public void testGeneratedDispatcher() {
+        Assertions.assertTrue(GeneratedDispatcher.find(Subscriber.class).isPresent());
+
+        Subscriber subscriber = new Subscriber();
+        observer.subscribe(subscriber);
+        observer.publish(new TestEvent("generated"));
+
+        Assertions.assertEquals(List.of("generated"), subscriber.received);
+    }
+
+    @Test
+    public void testMetrics() {
+        Metrics metrics = new Metrics().register("test");
+        observer.setMetrics(metrics);
+        observer.subscribe(new Subscriber());
+
+        for (int index = 0; index < 10; index++) {
+            observer.publish(new TestEvent("metrics"));
+        }
+
+        Assertions.assertEquals(10, metrics.getPublishLatencies().get(TestEvent.class.getName()).getCount());
+        Assertions.assertEquals(10, metrics.getHandlerLatencies().get(Subscriber.class.getName() + "#test(TestEvent)").getCount());
+
+        metrics.unregister();
+    }
+
+    @Test
+    @SneakyThrows
+    public void testConflation() {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(3);
+
+        observer.subscribe(new Object() {
+            @Async(Async.Mode.SERIAL)
+            @Observe
+            @SneakyThrows
+            public void test(PriceEvent event) {
+                started.countDown();
+                gate.await();
+
+                received.add(event.getSymbol() + "=" + event.getPrice());
+                latch.countDown();
+            }
+        });
+
+        observer.publish(new PriceEvent("A", 0));
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        /*
+         * The subscriber is busy, pending events per symbol are replaced by the newest one
+         */
+        for (int price = 1; price <= 100; price++) {
+            observer.publish(new PriceEvent("A", price));
+            observer.publish(new PriceEvent("B", price));
+        }
+
+        gate.countDown();
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        Assertions.assertEquals(Arrays.asList("A=0", "A=100", "B=100"), received);
+    }
+
+    @Test
+    public void testAllocationFree() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AtomicInteger received = new AtomicInteger();
+
+        observer.subscribe(new Object() {
+            @Observe
+            public void test(TestEvent event, @Null Integer amount, @Null String text) {
+                received.incrementAndGet();
+            }
+        });
+
+        observer.on(TestEvent.class, event -> true);
+        observer.forEach(TestEvent.class, (event, method, instance) -> true);
+        observer.after(TestEvent.class, event -> {});
+
+        TestEvent event = new TestEvent("allocation");
+        Object[] additional = { 5 };
+
+        /*
+         * Warm up until the publish path has been compiled
+         */
+        for (int index = 0; index < 200_000; index++) {
+            observer.publish(event);
+            observer.publish(event, additional);
+        }
+
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+        for (int index = 0; index < 100_000; index++) {
+            observer.publish(event);
+            observer.publish(event, additional);
+        }
+
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        Assertions.assertEquals(600_000, received.get());
+        Assertions.assertTrue(allocated < 100_000, "Publishing allocated " + allocated + " bytes");
+    }
+
+    @Test
+    public void testKeyedSubscription() {
+        List<TenantSubscriber> subscribers = IntStream.range(0, 1000).mapToObj(TenantSubscriber::new).collect(Collectors.toList());
+        subscribers.forEach(subscriber -> observer.subscribeKeyed(subscriber.tenant, subscriber));
+
+        AtomicInteger annotated = new AtomicInteger();
+        AtomicInteger unkeyed = new AtomicInteger();
+        AtomicInteger hooked = new AtomicInteger();
+
+        observer.subscribe(new Object() {
+            @Observe(key = "7")
+            public void test(TenantEvent event) {
+                annotated.incrementAndGet();
+            }
+
+            @Observe
+            public void all(TenantEvent event) {
+                unkeyed.incrementAndGet();
+            }
+        });
+
+        observer.onKeyed(TenantEvent.class, "5", event -> {
+            hooked.incrementAndGet();
+        });
+
+        new TenantEvent("5").publish(observer);
+        new TenantEvent("7").publish(observer);
+
+        Assertions.assertEquals(List.of(1, 1, 0), List.of(subscribers.get(5).received, subscribers.get(7).received, subscribers.get(6).received));
+        Assertions.assertEquals(1, annotated.get());
+        Assertions.assertEquals(2, unkeyed.get());
+        Assertions.assertEquals(1, hooked.get());
+
+        observer.unsubscribe(subscribers.get(5));
+        new TenantEvent("5").publish(observer);
+
+        Assertions.assertEquals(1, subscribers.get(5).received);
+        Assertions.assertEquals(3, unkeyed.get());
+    }
+
+    @Test
+    public void testNumericRouteKey() {
+        AtomicInteger annotated = new AtomicInteger();
+        AtomicInteger keyed = new AtomicInteger();
+        AtomicInteger hooked = new AtomicInteger();
+
+        /*
+         * Keys are compared by their string form, the annotation can't hold anything but a string
+         */
+        observer.subscribe(new Object() {
+            @Observe(key = "42")
+            public void test(ShardEvent event) {
+                annotated.incrementAndGet();
+            }
+        });
+
+        observer.subscribeKeyed(42L, new Object() {
+            @Observe
+            public void test(ShardEvent event) {
+                keyed.incrementAndGet();
+            }
+        });
+
+        observer.onKeyed(ShardEvent.class, 42, event -> {
+            hooked.incrementAndGet();
+        });
+
+        new ShardEvent(42).publish(observer);
+        new ShardEvent(7).publish(observer);
+
+        Assertions.assertEquals(List.of(1, 1, 1), List.of(annotated.get(), keyed.get(), hooked.get()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testWeakSubscription() {
+        AtomicInteger received = new AtomicInteger();
+
+        Object subscriber = new Object() {
+            @Observe
+            public void test(TestEvent event) {
+                received.incrementAndGet();
+            }
+        };
+
+        Class<?> type = subscriber.getClass();
+        WeakReference<Object> reference = new WeakReference<>(subscriber);
+
+        observer.subscribeWeak(subscriber);
+        new TestEvent("weak").publish(observer);
+
+        Assertions.assertEquals(1, received.get());
+        Assertions.assertTrue(observer.getInstance(type).isPresent());
+
+        subscriber = null;
+
+        for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertNull(reference.get());
+
+        new TestEvent("weak").publish(observer);
+
+        Assertions.assertEquals(1, received.get());
+        Assertions.assertFalse(observer.getInstance(type).isPresent());
+    }
+
+    @Test
+    public void testParallelFanOut() {
+        observer.setFanOutPool(new ForkJoinPool(4));
+
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        AtomicInteger completed = new AtomicInteger();
+        List<Integer> levels = Collections.synchronizedList(new ArrayList<>());
+
+        observer.subscribe(new Object() {
+            @Observe
+            @SneakyThrows
+            public void first(TestEvent event) {
+                barrier.await(10, TimeUnit.SECONDS);
+                completed.incrementAndGet();
+            }
+
+            @Observe
+            @SneakyThrows
+            public void second(TestEvent event) {
+                barrier.await(10, TimeUnit.SECONDS);
+                completed.incrementAndGet();
+            }
+
+            @Observe
+            @SneakyThrows
+            public void third(TestEvent event) {
+                barrier.await(10, TimeUnit.SECONDS);
+                completed.incrementAndGet();
+            }
+
+            @Observe(priority = -1)
+            public void last(TestEvent event) {
+                levels.add(completed.get());
+            }
+        });
+
+        observer.after(TestEvent.class, event -> levels.add(completed.get()));
+
+        /*
+         * The barrier only opens if all handlers of priority 0 run at the same time
+         */
+        new TestEvent("parallel").publish(observer);
+
+        Assertions.assertEquals(Arrays.asList(3, 3), levels);
+    }
+
+    @Test
+    public void testParallelFanOutFailures() {
+        observer.setFanOutPool(new ForkJoinPool(4));
+
+        AtomicInteger invoked = new AtomicInteger();
+
+        observer.subscribe(new Object() {
+            @Observe
+            public void first(TestEvent event) {
+                invoked.incrementAndGet();
+                throw new IllegalStateException("first");
+            }
+
+            @Observe
+            public void second(TestEvent event) {
+                invoked.incrementAndGet();
+                throw new IllegalStateException("second");
+            }
+
+            @Observe
+            public void third(TestEvent event) {
+                invoked.incrementAndGet();
+            }
+        });
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, () -> new TestEvent("parallel").publish(observer));
+
+        Assertions.assertEquals(3, invoked.get());
+        Assertions.assertEquals(1, exception.getSuppressed().length);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testDeadline() {
+        List<String> overrun = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        observer.addListener(new HandlerListener() {
+            @Override
+            public void onDeadlineExceeded(Handler handler, JationEvent<?> event, long elapsed) {
+                Assertions.assertTrue(elapsed > TimeUnit.MILLISECONDS.toNanos(20));
+                overrun.add(handler.getMetadata().getName());
+            }
+        });
+
+        observer.subscribe(new Object() {
+            @Observe(deadline = 20)
+            public void slow(TestEvent event) throws InterruptedException {
+                Thread.sleep(200);
+            }
+
+            @Async
+            @Observe(deadline = 20, overrun = Observe.Overrun.INTERRUPT)
+            public void hung(TestEvent event) {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                }
+            }
+        });
+
+        new TestEvent("deadline").publish(observer);
+
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+        Assertions.assertEquals(Arrays.asList("hung", "slow"), overrun.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testOverrunSkip() {
+        CountDownLatch overrun = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch skipped = new CountDownLatch(2);
+        AtomicInteger invoked = new AtomicInteger();
+
+        observer.addListener(new HandlerListener() {
+            @Override
+            public void onDeadlineExceeded(Handler handler, JationEvent<?> event, long elapsed) {
+                overrun.countDown();
+            }
+
+            @Override
+            public void onSkipped(Handler handler, JationEvent<?> event) {
+                skipped.countDown();
+            }
+        });
+
+        observer.subscribe(new Object() {
+            @Async
+            @Observe(deadline = 20, overrun = Observe.Overrun.SKIP)
+            public void test(TestEvent event) throws InterruptedException {
+                invoked.incrementAndGet();
+                release.await();
+            }
+        });
+
+        new TestEvent("first").publish(observer);
+        Assertions.assertTrue(overrun.await(5, TimeUnit.SECONDS));
+
+        new TestEvent("second").publish(observer);
+        new TestEvent("third").publish(observer);
+
+        Assertions.assertTrue(skipped.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        Thread.sleep(100);
+        Assertions.assertEquals(1, invoked.get());
+
+        new TestEvent("recovered").publish(observer);
+
+        Thread.sleep(100);
+        Assertions.assertEquals(2, invoked.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBulkhead() {
+        AtomicInteger rejected = new AtomicInteger();
+
+        observer.addListener(new HandlerListener() {
+            @Override
+            public void onRejected(Handler handler, JationEvent<?> event) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        LimitedSubscriber subscriber = new LimitedSubscriber();
+        observer.subscribe(subscriber);
+
+        for (int index = 0; index < 4; index++) {
+            new TestEvent(String.valueOf(index)).publish(observer);
+        }
+
+        Assertions.assertTrue(subscriber.started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        Assertions.assertEquals(2, rejected.get());
+
+        subscriber.release.countDown();
+        Thread.sleep(100);
+
+        new TestEvent("released").publish(observer);
+        Thread.sleep(100);
+
+        Assertions.assertEquals(2, rejected.get());
+        Assertions.assertEquals(3, subscriber.invoked.get());
+    }
+
+    @Test
+    public void testMassSubscription() {
+        CountingSubscriber[] subscribers = IntStream.range(0, 100_000)
+                .mapToObj(index -> new CountingSubscriber())
+                .toArray(CountingSubscriber[]::new);
+
+        observer.subscribe((Object[]) subscribers);
+        observer.subscribe(subscribers[0]);
+
+        new TestEvent("mass").publish(observer);
+
+        Assertions.assertTrue(Arrays.stream(subscribers).allMatch(subscriber -> subscriber.received == 1));
+        Assertions.assertEquals(subscribers.length, observer.getInstances(CountingSubscriber.class).size());
+
+        observer.unsubscribe((Object[]) subscribers);
+        new TestEvent("unsubscribed").publish(observer);
+
+        Assertions.assertTrue(Arrays.stream(subscribers).allMatch(subscriber -> subscriber.received == 1));
+        Assertions.assertTrue(observer.getInstance(CountingSubscriber.class).isEmpty());
+    }
+
+    /*
+     * Equal to each other, subscriptions must still be told apart by identity
+     */
+    public static class CountingSubscriber {
+
+        private int received;
+
+        @Observe
+        public void test(TestEvent event) {
+            received++;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CountingSubscriber;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    @Bulkhead(2)
+    public static class LimitedSubscriber {
+
+        private final CountDownLatch started = new CountDownLatch(2);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger invoked = new AtomicInteger();
+
+        @Async
+        @Observe
+        public void test(TestEvent event) throws InterruptedException {
+            invoked.incrementAndGet();
+            started.countDown();
+            release.await();
+        }
+    }
+
+    public static class TenantSubscriber {
+
+        private final String tenant;
+        private int received;
+
+        public TenantSubscriber(int tenant) {
+            this.tenant = String.valueOf(tenant);
+        }
+
+        @Observe
+        public void test(TenantEvent event) {
+            Assertions.assertEquals(this.tenant, event.getTenant());
+            received++;
+        }
+    }
+
+    public static class Subscriber {
+
+        private final List<String> received = new ArrayList<>();
+
+        @Observe
+        public void test(TestEvent event) {
+            received.add(event.getData());
+        }
+    }
+
+    public record SerialSubscriber(String name, List<String> received) {
+
+        @Observe
+        @Async(Async.Mode.SERIAL)
+        public void test(TestEvent event) {
+            this.received.add(event.getData());
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class TestEvent implements JationEvent<TestEvent> {
+
+        public String data;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    @Route("tenant")
+    public static class TenantEvent implements JationEvent<TenantEvent> {
+
+        private String tenant;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    @Route("shard")
+    public static class ShardEvent implements JationEvent<ShardEvent> {
+
+        private int shard;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    @Conflate("symbol")
+    public static class PriceEvent implements JationEvent<PriceEvent> {
+
+        private String symbol;
+        private int price;
+
+    }
+}